@@ -1,13 +1,31 @@
 package isaiah.maze_website;
 
+import java.util.Map;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 @SpringBootApplication
 public class MazeWebsiteApplication {
 
+	/**
+	 * Defaults for metrics, used unless set in application properties. Exposes
+	 * health and Prometheus scrape endpoints, and publishes histogram buckets for
+	 * request, generation, JWT, and password timers, so percentiles can be
+	 * computed across instances.
+	 */
+	private static final Map<String, Object> DEFAULT_PROPERTIES = Map.of(
+			"management.endpoints.web.exposure.include", "health,prometheus",
+			"management.metrics.distribution.percentiles-histogram.http.server.requests", "true",
+			"management.metrics.distribution.percentiles-histogram.http.server.response.size", "true",
+			"management.metrics.distribution.percentiles-histogram.maze.generation", "true",
+			"management.metrics.distribution.percentiles-histogram.jwt", "true",
+			"management.metrics.distribution.percentiles-histogram.password", "true");
+
 	public static void main(String[] args) {
-		SpringApplication.run(MazeWebsiteApplication.class, args);
+		SpringApplication application = new SpringApplication(MazeWebsiteApplication.class);
+		application.setDefaultProperties(DEFAULT_PROPERTIES);
+		application.run(args);
 	}
 
 }
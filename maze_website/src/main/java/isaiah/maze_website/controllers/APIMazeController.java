@@ -2,39 +2,67 @@ package isaiah.maze_website.controllers;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.google.gson.Gson;
+
+import isaiah.maze_website.generators.MazeGenerator;
+import isaiah.maze_website.models.AutomataEngine;
 import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.MazeSolver;
+import isaiah.maze_website.models.SolutionChecker;
+import isaiah.maze_website.models.rows.RowGenerator;
+import isaiah.maze_website.models.rows.RowStreamWriter;
+import isaiah.maze_website.models.steps.DecimatingStepRecorder;
+import isaiah.maze_website.models.steps.StreamingStepRecorder;
+import isaiah.maze_website.services.MazePoolService;
+import isaiah.maze_website.services.MazeService;
 
 @RestController
 public class APIMazeController {
 
+	/**
+	 * Solver for each request thread, so search buffers are reused.
+	 */
+	private static final ThreadLocal<MazeSolver> SOLVER = ThreadLocal.withInitial(MazeSolver::new);
+
+	@Autowired
+	private MazeService mazeService;
+
+	@Autowired
+	private MazePoolService mazePoolService;
+
 	/**
 	 * Generates and returns maze based on requested type.
 	 * 
 	 * @param generationType specifies type of generation for maze
+	 * @param rule           rulestring for cellular automata generation
+	 * @param seed           seed for repeatable generation, random if not given
 	 * @return 2d int array representing maze
 	 */
 	@GetMapping("/mazeinfo/defaultFinal/{generationType}")
-	public ResponseEntity<int[][]> defaultGenerateMazeFinal(@PathVariable("generationType") String generationType) {
-		Maze maze = new Maze();
-		if ("dfs".equals(generationType)) {
-			maze.dfsGenerationStart();
-		}
-		if ("recursive division".equals(generationType)) {
-			maze.recursiveDivisionGenerationStart();
+	public ResponseEntity<int[][]> defaultGenerateMazeFinal(@PathVariable("generationType") String generationType,
+			@RequestParam(value = "rule", defaultValue = AutomataEngine.DEFAULT_RULESTRING) String rule,
+			@RequestParam(value = "seed", required = false) Long seed) {
+		if (!AutomataEngine.isValidRulestring(rule)) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
 		}
-		if ("ca".equals(generationType)) {
-			maze.automataGenerationStart();
+		try {
+			int[][] generatedMaze = generateFinal(generationType, Maze.DEFAULT_DIMENSIONS, rule, seed);
+			return new ResponseEntity<>(generatedMaze, HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
 		}
-		int[][] generatedMaze = maze.getValues();
-		return new ResponseEntity<>(generatedMaze, HttpStatus.OK);
 	}
 
 	/**
@@ -42,23 +70,20 @@ public class APIMazeController {
 	 * 
 	 * @param generationType type of maze to generate
 	 * @param dimensions     dimension to use for generating maze
+	 * @param rule           rulestring for cellular automata generation
+	 * @param seed           seed for repeatable generation, random if not given
 	 * @return maze
 	 */
 	@GetMapping("/mazeinfo/final/{generationType}/{dimensions}")
 	public ResponseEntity<int[][]> generateMazeFinal(@PathVariable("generationType") String generationType,
-			@PathVariable("dimensions") int dimensions) {
+			@PathVariable("dimensions") int dimensions,
+			@RequestParam(value = "rule", defaultValue = AutomataEngine.DEFAULT_RULESTRING) String rule,
+			@RequestParam(value = "seed", required = false) Long seed) {
+		if (!AutomataEngine.isValidRulestring(rule)) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+		}
 		try {
-			Maze maze = new Maze(dimensions);
-			if ("dfs".equals(generationType)) {
-				maze.dfsGenerationStart();
-			}
-			if ("recursive division".equals(generationType)) {
-				maze.recursiveDivisionGenerationStart();
-			}
-			if ("ca".equals(generationType)) {
-				maze.automataGenerationStart();
-			}
-			int[][] generatedMaze = maze.getValues();
+			int[][] generatedMaze = generateFinal(generationType, dimensions, rule, seed);
 			return new ResponseEntity<>(generatedMaze, HttpStatus.OK);
 		} catch (IllegalArgumentException e) {
 			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
@@ -69,26 +94,117 @@ public class APIMazeController {
 	 * Generates and returns maze generation steps based on requested type.
 	 * 
 	 * @param generationType specifies type of generation for maze
+	 * @param rule           rulestring for cellular automata generation
+	 * @param seed           seed for repeatable generation, random if not given
+	 * @param maxFrames      most steps to send, evenly spread and always
+	 *                       including the first and last, every step if not
+	 *                       given
 	 * @return list of steps for generation of maze
 	 */
 	@GetMapping("/mazeinfo/defaultFull/{generationType}")
 	public ResponseEntity<List<int[][]>> defaultGenerateMazeFull(
-			@PathVariable("generationType") String generationType) {
-		Maze maze = new Maze();
-		if ("dfs".equals(generationType)) {
-			maze.dfsGenerationStart();
+			@PathVariable("generationType") String generationType,
+			@RequestParam(value = "rule", defaultValue = AutomataEngine.DEFAULT_RULESTRING) String rule,
+			@RequestParam(value = "seed", required = false) Long seed,
+			@RequestParam(value = "maxFrames", required = false) Integer maxFrames) {
+		if (!AutomataEngine.isValidRulestring(rule)) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
 		}
-		if ("recursive division".equals(generationType)) {
-			maze.recursiveDivisionGenerationStart();
+		try {
+			List<int[][]> steps = mazeService.generateFull(generationType, Maze.DEFAULT_DIMENSIONS, rule, seed,
+					maxFrames);
+			return new ResponseEntity<>(steps, HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
 		}
-		if ("ca".equals(generationType)) {
-			maze.automataGenerationStart();
+	}
+
+	/**
+	 * Generates maze based on requested dimensions and type, streaming each step
+	 * as it is produced. Steps are sent as newline-delimited JSON, one 2d array
+	 * per line, so the frontend can start animating before generation finishes.
+	 * 
+	 * @param generationType type of maze to generate
+	 * @param dimensions     dimension to use for generating maze
+	 * @param rule           rulestring for cellular automata generation
+	 * @param seed           seed for repeatable generation, random if not given
+	 * @param maxFrames      most steps to send, evenly spread and always
+	 *                       including the first and last, every step if not
+	 *                       given. Steps are sent once generation finishes when
+	 *                       given, since the last step is not known before.
+	 * @return stream of steps for generation of maze
+	 */
+	@GetMapping(value = "/mazeinfo/stream/{generationType}/{dimensions}", produces = "application/x-ndjson")
+	public ResponseEntity<StreamingResponseBody> streamGenerateMazeFull(
+			@PathVariable("generationType") String generationType, @PathVariable("dimensions") int dimensions,
+			@RequestParam(value = "rule", defaultValue = AutomataEngine.DEFAULT_RULESTRING) String rule,
+			@RequestParam(value = "seed", required = false) Long seed,
+			@RequestParam(value = "maxFrames", required = false) Integer maxFrames) {
+		if (!mazeService.isGenerationType(generationType) || !AutomataEngine.isValidRulestring(rule)
+				|| (maxFrames != null && maxFrames < DecimatingStepRecorder.MIN_FRAMES)) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+		}
+		MazeGenerator generator = mazeService.getGenerator(generationType);
+		if (!Maze.isValidDimensions(dimensions, mazeService.getMaxDimensions(generator))) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
 		}
-		return new ResponseEntity<>(maze.getSteps(), HttpStatus.OK);
+		StreamingResponseBody body = outputStream -> {
+			StreamingStepRecorder writer = new StreamingStepRecorder(outputStream);
+			if (maxFrames != null) {
+				mazeService.generateFrames(generator, dimensions, rule, seed, maxFrames).forEachFrame(writer::record);
+				return;
+			}
+			// each step written and flushed when recorded, nothing kept
+			Maze maze = mazeService.createMaze(generator, dimensions, seed, writer);
+			mazeService.generate(generator, maze, rule);
+		};
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
 	}
 
 	/**
-	 * Checks solution to maze using Maze class' check solution method.
+	 * Generates maze one row at a time, streaming each row as it is produced.
+	 * Rows are sent as newline-delimited JSON, one array per line. Only the
+	 * current row is kept in memory, so mazes can be far taller than other
+	 * endpoints allow.
+	 * 
+	 * @param generationType type of maze to generate, one that supports streaming
+	 *                       (eller, binary tree, or sidewinder)
+	 * @param width          number of positions in each row
+	 * @param height         number of rows
+	 * @param seed           seed for repeatable generation, random if not given
+	 * @return stream of rows of maze
+	 */
+	@GetMapping(value = "/mazeinfo/rows/{generationType}/{width}/{height}", produces = "application/x-ndjson")
+	public ResponseEntity<StreamingResponseBody> streamGenerateMazeRows(
+			@PathVariable("generationType") String generationType, @PathVariable("width") int width,
+			@PathVariable("height") int height, @RequestParam(value = "seed", required = false) Long seed) {
+		if (!mazeService.isGenerationType(generationType)) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+		}
+		MazeGenerator generator = mazeService.getGenerator(generationType);
+		if (!generator.supportsStreaming() || !mazeService.isValidRowsSize(generator, width, height)) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+		}
+		RowGenerator rowGenerator = mazeService.createRowGenerator(generator, seed);
+		StreamingResponseBody body = outputStream -> rowGenerator.generate(width, height,
+				new RowStreamWriter(outputStream));
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+	}
+
+	/**
+	 * Lists generation types with their capabilities, cost hints, and generation
+	 * times so far.
+	 * 
+	 * @return JSON list with one object for each generation type
+	 */
+	@GetMapping("/mazeinfo/generators")
+	public ResponseEntity<String> getGenerators() {
+		return new ResponseEntity<>(new Gson().toJson(mazeService.describeGenerators()), HttpStatus.OK);
+	}
+
+	/**
+	 * Checks solution to maze with this thread's solution checker. No maze is
+	 * built, so a check creates no garbage.
 	 * 
 	 * @param attempt attempt at solving maze
 	 * @return true or false for correct solution
@@ -96,10 +212,54 @@ public class APIMazeController {
 	@PostMapping("/mazeinfo/check")
 	public ResponseEntity<Boolean> checkSolution(@RequestBody int[][] attempt) {
 		try {
-			Maze maze = new Maze(attempt.length);
-			return new ResponseEntity<>(maze.checkSolution(attempt), HttpStatus.OK);
+			if (!Maze.isValidDimensions(attempt.length, mazeService.getMaxDimensions())) {
+				return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+			}
+			return new ResponseEntity<>(SolutionChecker.forCurrentThread().check(attempt), HttpStatus.OK);
 		} catch (IllegalArgumentException e) {
 			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
 		}
 	}
+
+	/**
+	 * Finds shortest path from top left to bottom right of maze.
+	 * 
+	 * @param maze      maze to solve
+	 * @param algorithm bfs, astar, or bidirectional
+	 * @return move list using N, E, S, and W, not found if maze has no path
+	 */
+	@PostMapping("/mazeinfo/solve")
+	public ResponseEntity<String> solveMaze(@RequestBody int[][] maze,
+			@RequestParam(value = "algorithm", defaultValue = "bfs") String algorithm) {
+		try {
+			if (!Maze.isValidDimensions(maze.length, mazeService.getMaxDimensions())) {
+				return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+			}
+			String path = SOLVER.get().solve(maze, MazeSolver.Algorithm.fromName(algorithm));
+			if (path == null) {
+				return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+			}
+			return new ResponseEntity<>(new Gson().toJson(path), HttpStatus.OK);
+		} catch (IllegalArgumentException e) {
+			return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+		}
+	}
+
+	/**
+	 * Helper method that takes final maze from pool when possible, generating it
+	 * otherwise.
+	 * 
+	 * @param generationType type of maze to generate
+	 * @param dimensions     dimension to use for generating maze
+	 * @param rule           rulestring for cellular automata generation
+	 * @param seed           seed for repeatable generation, or null
+	 * @return 2d int array representing maze
+	 */
+	private int[][] generateFinal(String generationType, int dimensions, String rule, Long seed) {
+		int[][] pooled = mazePoolService.take(generationType, dimensions, rule, seed);
+		if (pooled != null) {
+			return pooled;
+		}
+		return mazeService.generateFinal(generationType, dimensions, rule, seed);
+	}
 }
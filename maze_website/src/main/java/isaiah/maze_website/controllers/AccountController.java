@@ -5,6 +5,7 @@ import java.util.ArrayList;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,16 +14,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.google.gson.Gson;
 
 import io.jsonwebtoken.Claims;
+import isaiah.maze_website.converters.MazeBinaryCodec;
 import isaiah.maze_website.exceptions.MaxUsersReachedException;
 import isaiah.maze_website.exceptions.UsernameConflictException;
 import isaiah.maze_website.models.Role;
 import isaiah.maze_website.models.User;
 import isaiah.maze_website.security.jwt.JwtUtils;
+import isaiah.maze_website.services.SavedMazeService;
 import isaiah.maze_website.services.UserService;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -31,7 +36,16 @@ import jakarta.servlet.http.HttpServletResponse;
 @RequestMapping("/accounts")
 public class AccountController {
 
-	private static final int MAX_SAVED_MAZES = 10;
+	/**
+	 * Usernames sent by getAll when no limit is given, more than the most users
+	 * allowed so every user fits in one page.
+	 */
+	private static final String DEFAULT_USERNAMES_PAGE = "100";
+
+	/**
+	 * Most usernames sent by getAll at once.
+	 */
+	private static final int MAX_USERNAMES_PAGE = 1000;
 
 	@Autowired
 	private PasswordEncoder passwordEncoder;
@@ -39,6 +53,9 @@ public class AccountController {
 	@Autowired
 	private UserService userService;
 
+	@Autowired
+	private SavedMazeService savedMazeService;
+
 	@Autowired
 	private JwtUtils jwtUtils;
 
@@ -189,13 +206,19 @@ public class AccountController {
 	}
 
 	/**
-	 * Uses jwt to check role. Sends all guest user info to frontend.
+	 * Uses jwt to check role. Sends a page of guest usernames to frontend, in
+	 * username order. Only usernames are selected, with admins left out by the
+	 * query.
 	 * 
 	 * @param cookies cookie details from frontend (jwt)
-	 * @return list of all users and http status
+	 * @param after   last username of the page before, first page if not given
+	 * @param limit   most usernames to send, at most MAX_USERNAMES_PAGE
+	 * @return list of usernames and http status
 	 */
 	@GetMapping("/getAll")
-	public ResponseEntity<List<String>> getUsers(@RequestHeader(value = "Cookie", required = false) String cookies) {
+	public ResponseEntity<List<String>> getUsers(@RequestHeader(value = "Cookie", required = false) String cookies,
+			@RequestParam(value = "after", required = false) String after,
+			@RequestParam(value = "limit", defaultValue = DEFAULT_USERNAMES_PAGE) int limit) {
 		//getting token from cookie
 		String token = null;
 	    if (cookies != null) {
@@ -213,21 +236,17 @@ public class AccountController {
 	    //check jwt & get details
 		Claims claims = jwtUtils.getClaims(token);
 		if (claims.get("role", String.class).equals(Role.ADMIN.toString())) {
-			List<User> allUsers = userService.getAllUsers();
-			List<String> allUsernames = new ArrayList<>();
-			for (User u : allUsers) {
-				if (u.getRole() != Role.ADMIN) {
-					allUsernames.add(u.getUsername());
-				}
+			if (limit < 1 || limit > MAX_USERNAMES_PAGE) {
+				return new ResponseEntity<>(null, HttpStatus.CONFLICT);
 			}
-			return new ResponseEntity<>(allUsernames, HttpStatus.OK);
+			return new ResponseEntity<>(userService.getUsernames(after, limit), HttpStatus.OK);
 		}
 		return new ResponseEntity<>(null, HttpStatus.UNAUTHORIZED);
 	}
 
 	/**
-	 * Uses jwt to check username and role. If less than 10 mazes for user, add maze
-	 * to db.
+	 * Uses jwt to check username and role. If user is under the saved mazes limit,
+	 * add maze to db as its own row.
 	 * 
 	 * @param cookies cookie details from frontend (jwt)
 	 * @param maze  maze to save
@@ -253,15 +272,13 @@ public class AccountController {
 		Claims claims = jwtUtils.getClaims(token);
 		if (claims.get("role", String.class).equals(Role.ADMIN.toString())
 				|| claims.get("role", String.class).equals(Role.GUEST.toString())) {
-			User dbUser = userService.getUser(new User(null, claims.get("username", String.class), null, null, null));
-			// saved mazes limit
-			if (dbUser.getSavedMazes().size() < MAX_SAVED_MAZES) {
-				List<int[][]> updatedSavedMazes = new ArrayList<int[][]>();
-				updatedSavedMazes.addAll(dbUser.getSavedMazes());
-				updatedSavedMazes.add(maze);
-				dbUser.setSavedMazes(updatedSavedMazes);
-				userService.updateUser(dbUser);
-				return new ResponseEntity<>(true, HttpStatus.OK);
+			// saved mazes limit checked by service
+			try {
+				if (savedMazeService.saveMaze(claims.get("username", String.class), maze)) {
+					return new ResponseEntity<>(true, HttpStatus.OK);
+				}
+			} catch (IllegalArgumentException e) {
+				System.out.println(e.getMessage());
 			}
 			return new ResponseEntity<>(false, HttpStatus.CONFLICT);
 		}
@@ -269,7 +286,8 @@ public class AccountController {
 	}
 
 	/**
-	 * Uses jwt to check username and role. Removes provided maze from db.
+	 * Uses jwt to check username and role. Removes maze at index from db with a
+	 * single delete.
 	 * 
 	 * @param cookies cookie details from frontend (jwt)
 	 * @param index index of maze to remove
@@ -295,25 +313,29 @@ public class AccountController {
 		Claims claims = jwtUtils.getClaims(token);
 		if (claims.get("role", String.class).equals(Role.ADMIN.toString())
 				|| claims.get("role", String.class).equals(Role.GUEST.toString())) {
-			User dbUser = userService.getUser(new User(null, claims.get("username", String.class), null, null, null));
-			List<int[][]> updatedSavedMazes = new ArrayList<int[][]>();
-			updatedSavedMazes.addAll(dbUser.getSavedMazes());
-			updatedSavedMazes.remove(index);
-			dbUser.setSavedMazes(updatedSavedMazes);
-			userService.updateUser(dbUser);
-			return new ResponseEntity<>(true, HttpStatus.OK);
+			try {
+				if (savedMazeService.removeMaze(claims.get("username", String.class), index)) {
+					return new ResponseEntity<>(true, HttpStatus.OK);
+				}
+			} catch (IllegalArgumentException e) {
+				System.out.println(e.getMessage());
+			}
+			return new ResponseEntity<>(false, HttpStatus.CONFLICT);
 		}
 		return new ResponseEntity<>(false, HttpStatus.UNAUTHORIZED);
 	}
 
 	/**
-	 * Uses jwt to check username and role. Gets mazes for user.
+	 * Uses jwt to check username and role. Gets mazes for user. Only stored
+	 * payloads are fetched, all of them before the response is written, so no
+	 * database connection is held while it is sent. Each is then transcoded from
+	 * binary straight into the response, without building int arrays.
 	 * 
 	 * @param cookies cookie details from frontend (jwt)
 	 * @return list of saved mazes and http status, sends info as JSON
 	 */
 	@GetMapping("/getMazes")
-	public ResponseEntity<String> getMazeInfo(@RequestHeader(value = "Cookie", required = false) String cookies) {
+	public ResponseEntity<StreamingResponseBody> getMazeInfo(@RequestHeader(value = "Cookie", required = false) String cookies) {
 	    //getting token from cookie
 		String token = null;
 	    if (cookies != null) {
@@ -332,8 +354,16 @@ public class AccountController {
 		Claims claims = jwtUtils.getClaims(token);
 		if (claims.get("role", String.class).equals(Role.ADMIN.toString())
 				|| claims.get("role", String.class).equals(Role.GUEST.toString())) {
-			User dbUser = userService.getUser(new User(null, claims.get("username", String.class), null, null, null));
-			return new ResponseEntity<>(new Gson().toJson(dbUser.getSavedMazes()), HttpStatus.OK);
+			try {
+				// fetched before streaming, since body is written on another thread
+				List<byte[]> payloads = savedMazeService.getMazePayloads(claims.get("username", String.class));
+				StreamingResponseBody body = outputStream -> MazeBinaryCodec.transcodeMazesToJson(payloads,
+						outputStream);
+				return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+			} catch (IllegalArgumentException e) {
+				System.out.println(e.getMessage());
+				return new ResponseEntity<>(null, HttpStatus.CONFLICT);
+			}
 		}
 		return new ResponseEntity<>(null, HttpStatus.UNAUTHORIZED);
 	}
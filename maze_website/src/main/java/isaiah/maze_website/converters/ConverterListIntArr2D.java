@@ -1,14 +1,13 @@
 package isaiah.maze_website.converters;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import jakarta.persistence.AttributeConverter;
 
 import com.google.gson.Gson;
 
-import org.json.JSONArray;
-
 /**
  * Used to convert users' saved mazes to format easier to store.
  * 
@@ -18,28 +17,29 @@ import org.json.JSONArray;
 public class ConverterListIntArr2D implements AttributeConverter<List<int[][]>, String> {
 
 	/**
-	 * Converts list of mazes to string in JSON format.
+	 * Converts list of mazes to string in compact format (see SavedMazesCodec).
 	 */
 	@Override
 	public String convertToDatabaseColumn(List<int[][]> attribute) {
 		if (attribute == null) {
 			return null;
 		}
-		return new Gson().toJson(attribute);
+		return SavedMazesCodec.encode(attribute);
 	}
 
 	/**
-	 * Converts JSON of saved mazes back to list. Uses type cast for simplicity
-	 * although not sure this is acceptable for type safety.
+	 * Converts saved mazes back to list. Values still in the old JSON format are
+	 * parsed as a 3d int array so each maze is a real int[][], and are stored in
+	 * compact format next time they are written.
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public List<int[][]> convertToEntityAttribute(String dbData) {
 		if (dbData == null) {
 			return new ArrayList<int[][]>();
+		} else if (SavedMazesCodec.isLegacyJson(dbData)) {
+			return new ArrayList<int[][]>(Arrays.asList(new Gson().fromJson(dbData, int[][][].class)));
 		} else {
-			JSONArray ja = new JSONArray(dbData);
-			return (List<int[][]>) (Object) ja.toList();
+			return SavedMazesCodec.decode(dbData);
 		}
 	}
 
@@ -0,0 +1,414 @@
+package isaiah.maze_website.converters;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import isaiah.maze_website.models.Maze;
+
+/**
+ * Binary format for mazes and generation steps, much smaller than JSON number
+ * arrays. Every message starts with a header: format version, kind (maze or
+ * steps), then number of rows and columns. Numbers in headers are unsigned
+ * varints (7 bits per byte, low bits first).
+ *
+ * Cells are packed 4 bits each, two per byte with the first cell in the high
+ * bits, row by row. Steps are sent as a keyframe (the first step, packed like a
+ * maze) followed by only the cells that change in each later step. Each change
+ * is one varint holding the number of unchanged cells skipped since the last
+ * change and the new value in its low 4 bits, so most changes take one byte.
+ *
+ * @author Isaiah
+ *
+ */
+public final class MazeBinaryCodec {
+
+	/**
+	 * Format version written in every header.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * Kind for a single maze.
+	 */
+	public static final int KIND_MAZE = 0;
+
+	/**
+	 * Kind for a list of generation steps.
+	 */
+	public static final int KIND_STEPS = 1;
+
+	/**
+	 * Bits used for each cell.
+	 */
+	private static final int CELL_BITS = 4;
+
+	/**
+	 * Mask for value of a cell.
+	 */
+	private static final int CELL_MASK = (1 << CELL_BITS) - 1;
+
+	private MazeBinaryCodec() {
+	}
+
+	/**
+	 * Writes maze.
+	 *
+	 * @param maze   2d int array representing maze
+	 * @param output stream to write to, not closed
+	 * @throws IOException              if writing fails
+	 * @throws IllegalArgumentException if maze is not rectangular or has values
+	 *                                  that do not fit in 4 bits
+	 */
+	public static void writeMaze(int[][] maze, OutputStream output) throws IOException {
+		int columns = checkShape(maze);
+		writeHeader(output, KIND_MAZE, maze.length, columns);
+		writeCells(maze, columns, output);
+	}
+
+	/**
+	 * Writes generation steps as a keyframe followed by changes.
+	 *
+	 * @param steps  list of steps, all the same size
+	 * @param output stream to write to, not closed
+	 * @throws IOException              if writing fails
+	 * @throws IllegalArgumentException if steps are not all the same rectangular
+	 *                                  size or have values that do not fit in 4
+	 *                                  bits
+	 */
+	public static void writeSteps(List<int[][]> steps, OutputStream output) throws IOException {
+		int rows = steps.isEmpty() ? 0 : steps.get(0).length;
+		int columns = steps.isEmpty() ? 0 : checkShape(steps.get(0));
+		writeHeader(output, KIND_STEPS, rows, columns);
+		writeVarint(output, steps.size());
+		if (steps.isEmpty()) {
+			return;
+		}
+		writeCells(steps.get(0), columns, output);
+
+		for (int step = 1; step < steps.size(); step++) {
+			int[][] previous = steps.get(step - 1);
+			int[][] current = steps.get(step);
+			if (current.length != rows || checkShape(current) != columns) {
+				throw new IllegalArgumentException("Steps must all be the same size.");
+			}
+			int changes = 0;
+			for (int i = 0; i < rows; i++) {
+				int[] previousRow = previous[i];
+				int[] currentRow = current[i];
+				for (int j = 0; j < columns; j++) {
+					if (previousRow[j] != currentRow[j]) {
+						changes++;
+					}
+				}
+			}
+			writeVarint(output, changes);
+			long lastChange = -1;
+			for (int i = 0; i < rows; i++) {
+				int[] previousRow = previous[i];
+				int[] currentRow = current[i];
+				for (int j = 0; j < columns; j++) {
+					if (previousRow[j] != currentRow[j]) {
+						long position = (long) i * columns + j;
+						writeVarint(output, (position - lastChange - 1) << CELL_BITS | checkValue(currentRow[j]));
+						lastChange = position;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads maze written by writeMaze.
+	 *
+	 * @param input stream to read from, not closed
+	 * @return 2d int array representing maze
+	 * @throws IOException              if reading fails or data ends early
+	 * @throws IllegalArgumentException if data is not a maze in this format
+	 */
+	public static int[][] readMaze(InputStream input) throws IOException {
+		int[] size = readHeader(input, KIND_MAZE);
+		return readCells(input, size[0], size[1]);
+	}
+
+	/**
+	 * Reads generation steps written by writeSteps.
+	 *
+	 * @param input stream to read from, not closed
+	 * @return list of steps
+	 * @throws IOException              if reading fails or data ends early
+	 * @throws IllegalArgumentException if data is not steps in this format
+	 */
+	public static List<int[][]> readSteps(InputStream input) throws IOException {
+		int[] size = readHeader(input, KIND_STEPS);
+		int rows = size[0];
+		int columns = size[1];
+		long stepCount = readVarint(input);
+		List<int[][]> steps = new ArrayList<int[][]>();
+		if (stepCount == 0) {
+			return steps;
+		}
+		int[][] current = readCells(input, rows, columns);
+		steps.add(current);
+		long cells = (long) rows * columns;
+
+		for (long step = 1; step < stepCount; step++) {
+			int[][] next = new int[rows][];
+			for (int i = 0; i < rows; i++) {
+				next[i] = current[i].clone();
+			}
+			long changes = readVarint(input);
+			long position = -1;
+			for (long change = 0; change < changes; change++) {
+				long packed = readVarint(input);
+				position += (packed >>> CELL_BITS) + 1;
+				if (position < 0 || position >= cells) {
+					throw new IllegalArgumentException("Change is outside maze.");
+				}
+				next[(int) (position / columns)][(int) (position % columns)] = (int) (packed & CELL_MASK);
+			}
+			steps.add(next);
+			current = next;
+		}
+		return steps;
+	}
+
+	/**
+	 * Transcodes maze written by writeMaze straight to a JSON 2d array, in one
+	 * pass and without building an int[][]. Output is the same as Gson's for the
+	 * decoded maze.
+	 *
+	 * @param input  stream to read from, not closed
+	 * @param output stream to write JSON to, not closed
+	 * @throws IOException              if reading or writing fails, or data ends
+	 *                                  early
+	 * @throws IllegalArgumentException if data is not a maze in this format
+	 */
+	public static void transcodeMazeToJson(InputStream input, OutputStream output) throws IOException {
+		int[] size = readHeader(input, KIND_MAZE);
+		int rows = size[0];
+		int columns = size[1];
+		output.write('[');
+		long index = 0;
+		int bits = 0;
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				output.write(',');
+			}
+			output.write('[');
+			for (int j = 0; j < columns; j++) {
+				if (j > 0) {
+					output.write(',');
+				}
+				// first cell of each byte in high bits
+				if ((index & 1) == 0) {
+					bits = readByte(input);
+				}
+				int value = ((index & 1) == 0 ? bits >> CELL_BITS : bits) & CELL_MASK;
+				if (value >= 10) {
+					output.write('1');
+					value -= 10;
+				}
+				output.write('0' + value);
+				index++;
+			}
+			output.write(']');
+		}
+		output.write(']');
+	}
+
+	/**
+	 * Transcodes mazes written by writeMaze to a JSON list of 2d arrays, one
+	 * after another with transcodeMazeToJson.
+	 *
+	 * @param payloads mazes in this format
+	 * @param output   stream to write JSON to, not closed
+	 * @throws IOException              if writing fails or a maze ends early
+	 * @throws IllegalArgumentException if a payload is not a maze in this format
+	 */
+	public static void transcodeMazesToJson(List<byte[]> payloads, OutputStream output) throws IOException {
+		output.write('[');
+		for (int i = 0; i < payloads.size(); i++) {
+			if (i > 0) {
+				output.write(',');
+			}
+			transcodeMazeToJson(new ByteArrayInputStream(payloads.get(i)), output);
+		}
+		output.write(']');
+	}
+
+	/**
+	 * Helper function that writes header.
+	 *
+	 * @param output  stream to write to
+	 * @param kind    kind of message
+	 * @param rows    number of rows
+	 * @param columns number of columns
+	 * @throws IOException if writing fails
+	 */
+	private static void writeHeader(OutputStream output, int kind, int rows, int columns) throws IOException {
+		output.write(VERSION);
+		output.write(kind);
+		writeVarint(output, rows);
+		writeVarint(output, columns);
+	}
+
+	/**
+	 * Helper function that reads and checks header.
+	 *
+	 * @param input stream to read from
+	 * @param kind  kind of message expected
+	 * @return number of rows and columns
+	 * @throws IOException if reading fails
+	 */
+	private static int[] readHeader(InputStream input, int kind) throws IOException {
+		int version = readByte(input);
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported maze format version: " + version + ".");
+		}
+		if (readByte(input) != kind) {
+			throw new IllegalArgumentException("Unexpected maze format kind.");
+		}
+		long rows = readVarint(input);
+		long columns = readVarint(input);
+		// varints past 63 bits read as negative
+		if (rows < 0 || columns < 0 || rows > Maze.LIMIT_DIMENSIONS || columns > Maze.LIMIT_DIMENSIONS) {
+			throw new IllegalArgumentException("Dimensions must be between 0 and " + Maze.LIMIT_DIMENSIONS + ".");
+		}
+		return new int[] { (int) rows, (int) columns };
+	}
+
+	/**
+	 * Helper function that writes every cell packed 4 bits each.
+	 *
+	 * @param maze    2d int array to write
+	 * @param columns number of columns
+	 * @param output  stream to write to
+	 * @throws IOException if writing fails
+	 */
+	private static void writeCells(int[][] maze, int columns, OutputStream output) throws IOException {
+		byte[] packed = new byte[(int) (((long) maze.length * columns + 1) / 2)];
+		int index = 0;
+		for (int[] row : maze) {
+			for (int j = 0; j < columns; j++) {
+				int value = checkValue(row[j]);
+				// first cell of each byte in high bits
+				packed[index >> 1] |= (index & 1) == 0 ? value << CELL_BITS : value;
+				index++;
+			}
+		}
+		output.write(packed);
+	}
+
+	/**
+	 * Helper function that reads cells packed 4 bits each.
+	 *
+	 * @param input   stream to read from
+	 * @param rows    number of rows
+	 * @param columns number of columns
+	 * @return 2d int array of cells
+	 * @throws IOException if reading fails
+	 */
+	private static int[][] readCells(InputStream input, int rows, int columns) throws IOException {
+		byte[] packed = input.readNBytes((int) (((long) rows * columns + 1) / 2));
+		if (packed.length < ((long) rows * columns + 1) / 2) {
+			throw new EOFException("Maze data ended early.");
+		}
+		int[][] maze = new int[rows][columns];
+		int index = 0;
+		for (int[] row : maze) {
+			for (int j = 0; j < columns; j++) {
+				int bits = packed[index >> 1];
+				row[j] = ((index & 1) == 0 ? bits >> CELL_BITS : bits) & CELL_MASK;
+				index++;
+			}
+		}
+		return maze;
+	}
+
+	/**
+	 * Helper function that checks all rows are the same length.
+	 *
+	 * @param maze 2d int array to check
+	 * @return number of columns
+	 */
+	private static int checkShape(int[][] maze) {
+		int columns = maze.length == 0 ? 0 : maze[0].length;
+		for (int[] row : maze) {
+			if (row.length != columns) {
+				throw new IllegalArgumentException("Maze must be rectangular.");
+			}
+		}
+		return columns;
+	}
+
+	/**
+	 * Helper function that checks value fits in a cell.
+	 *
+	 * @param value value of cell
+	 * @return value
+	 */
+	private static int checkValue(int value) {
+		if (value < 0 || value > CELL_MASK) {
+			throw new IllegalArgumentException("Cell values must be between 0 and " + CELL_MASK + ".");
+		}
+		return value;
+	}
+
+	/**
+	 * Helper function that writes unsigned varint. Shared with other codecs in
+	 * this package.
+	 *
+	 * @param output stream to write to
+	 * @param value  non-negative value
+	 * @throws IOException if writing fails
+	 */
+	static void writeVarint(OutputStream output, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			output.write((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.write((int) value);
+	}
+
+	/**
+	 * Helper function that reads unsigned varint. Shared with other codecs in this
+	 * package.
+	 *
+	 * @param input stream to read from
+	 * @return value
+	 * @throws IOException if reading fails
+	 */
+	static long readVarint(InputStream input) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < Long.SIZE; shift += 7) {
+			int b = readByte(input);
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Varint is too long.");
+	}
+
+	/**
+	 * Helper function that reads one byte. Shared with other codecs in this
+	 * package.
+	 *
+	 * @param input stream to read from
+	 * @return byte, 0 to 255
+	 * @throws IOException if reading fails or data has ended
+	 */
+	static int readByte(InputStream input) throws IOException {
+		int b = input.read();
+		if (b < 0) {
+			throw new EOFException("Maze data ended early.");
+		}
+		return b;
+	}
+
+}
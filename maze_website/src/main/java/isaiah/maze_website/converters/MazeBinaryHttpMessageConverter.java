@@ -0,0 +1,112 @@
+package isaiah.maze_website.converters;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+/**
+ * Reads and writes mazes and generation steps in the binary format of
+ * MazeBinaryCodec. Used only when a client asks for application/x-maze, since
+ * it is registered after the JSON converters.
+ *
+ * @author Isaiah
+ *
+ */
+public class MazeBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+	/**
+	 * Media type of the binary format.
+	 */
+	public static final MediaType MAZE_MEDIA_TYPE = new MediaType("application", "x-maze");
+
+	/**
+	 * Creates converter for application/x-maze.
+	 */
+	public MazeBinaryHttpMessageConverter() {
+		super(MAZE_MEDIA_TYPE);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return int[][].class == clazz;
+	}
+
+	@Override
+	public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+		return isMaze(type) && canRead(mediaType);
+	}
+
+	@Override
+	public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+		return (isMaze(type) || isSteps(type)) && canWrite(mediaType);
+	}
+
+	@Override
+	public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+			throws IOException, HttpMessageNotReadableException {
+		return readInternal(int[][].class, inputMessage);
+	}
+
+	@Override
+	protected Object readInternal(Class<? extends Object> clazz, HttpInputMessage inputMessage)
+			throws IOException, HttpMessageNotReadableException {
+		try {
+			return MazeBinaryCodec.readMaze(inputMessage.getBody());
+		} catch (IllegalArgumentException e) {
+			throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		OutputStream output = new BufferedOutputStream(outputMessage.getBody());
+		try {
+			if (value instanceof int[][]) {
+				MazeBinaryCodec.writeMaze((int[][]) value, output);
+			} else {
+				MazeBinaryCodec.writeSteps((List<int[][]>) value, output);
+			}
+		} catch (IllegalArgumentException e) {
+			throw new HttpMessageNotWritableException(e.getMessage(), e);
+		}
+		output.flush();
+	}
+
+	/**
+	 * Helper function that checks if type is a maze.
+	 *
+	 * @param type type to check
+	 * @return true if type is int[][]
+	 */
+	private static boolean isMaze(Type type) {
+		return int[][].class == type;
+	}
+
+	/**
+	 * Helper function that checks if type is a list of generation steps.
+	 *
+	 * @param type type to check
+	 * @return true if type is List of int[][]
+	 */
+	private static boolean isSteps(Type type) {
+		if (type instanceof ParameterizedType) {
+			ParameterizedType parameterized = (ParameterizedType) type;
+			return List.class == parameterized.getRawType()
+					&& int[][].class == parameterized.getActualTypeArguments()[0];
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,24 @@
+package isaiah.maze_website.converters;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Adds binary maze format after the default converters, so JSON stays the
+ * default and the binary format is only used when requested.
+ *
+ * @author Isaiah
+ *
+ */
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		converters.add(new MazeBinaryHttpMessageConverter());
+	}
+
+}
@@ -0,0 +1,236 @@
+package isaiah.maze_website.converters;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import isaiah.maze_website.models.Maze;
+
+/**
+ * Compact text format for a list of saved mazes, stored in a TEXT column. Data
+ * is Base64 of: format version, flags, then a body that is deflated when that
+ * makes it smaller. The body holds the number of mazes, then for each maze its
+ * rows, columns, and bits per cell (as varints), followed by its cells packed
+ * with that many bits each, first cell in the high bits.
+ *
+ * Each maze uses the fewest bits that fit its largest value, so finished mazes
+ * (open, wall, and target values) take 3 bits per cell, and mazes with only
+ * open and wall values take 1.
+ *
+ * Base64 never starts with '[', so legacy JSON values can be told apart.
+ *
+ * @author Isaiah
+ *
+ */
+public final class SavedMazesCodec {
+
+	/**
+	 * Format version written first.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * Flag set when body is deflated.
+	 */
+	private static final int FLAG_DEFLATED = 1;
+
+	/**
+	 * Bodies at most this size are never deflated, since deflate's own overhead
+	 * outweighs any saving.
+	 */
+	private static final int MIN_DEFLATE_SIZE = 64;
+
+	/**
+	 * Most bits allowed for a cell.
+	 */
+	private static final int MAX_CELL_BITS = 4;
+
+	private SavedMazesCodec() {
+	}
+
+	/**
+	 * Checks if column value is in the legacy JSON format.
+	 *
+	 * @param text column value
+	 * @return true if value is a JSON array
+	 */
+	public static boolean isLegacyJson(String text) {
+		return !text.isEmpty() && text.charAt(0) == '[';
+	}
+
+	/**
+	 * Encodes mazes in compact format.
+	 *
+	 * @param mazes list of mazes
+	 * @return Base64 text
+	 * @throws IllegalArgumentException if a maze is not rectangular or has values
+	 *                                  that do not fit in 4 bits
+	 */
+	public static String encode(List<int[][]> mazes) {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		try {
+			MazeBinaryCodec.writeVarint(body, mazes.size());
+			for (int[][] maze : mazes) {
+				writeMaze(maze, body);
+			}
+		} catch (IOException e) {
+			// not thrown by in-memory streams
+			throw new UncheckedIOException(e);
+		}
+
+		byte[] bodyBytes = body.toByteArray();
+		int flags = 0;
+		if (bodyBytes.length > MIN_DEFLATE_SIZE) {
+			byte[] deflated = deflate(bodyBytes);
+			if (deflated.length < bodyBytes.length) {
+				bodyBytes = deflated;
+				flags |= FLAG_DEFLATED;
+			}
+		}
+		byte[] data = new byte[bodyBytes.length + 2];
+		data[0] = VERSION;
+		data[1] = (byte) flags;
+		System.arraycopy(bodyBytes, 0, data, 2, bodyBytes.length);
+		return Base64.getEncoder().encodeToString(data);
+	}
+
+	/**
+	 * Decodes mazes from compact format.
+	 *
+	 * @param text Base64 text written by encode
+	 * @return list of mazes
+	 * @throws IllegalArgumentException if text is not in this format
+	 */
+	public static List<int[][]> decode(String text) {
+		byte[] data = Base64.getDecoder().decode(text);
+		if (data.length < 2 || data[0] != VERSION) {
+			throw new IllegalArgumentException("Unsupported saved mazes format.");
+		}
+		InputStream body = new ByteArrayInputStream(data, 2, data.length - 2);
+		if ((data[1] & FLAG_DEFLATED) != 0) {
+			body = new InflaterInputStream(body);
+		}
+		try {
+			long count = MazeBinaryCodec.readVarint(body);
+			List<int[][]> mazes = new ArrayList<int[][]>();
+			for (long i = 0; i < count; i++) {
+				mazes.add(readMaze(body));
+			}
+			return mazes;
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Saved mazes data is invalid.", e);
+		}
+	}
+
+	/**
+	 * Helper function that writes one maze with the fewest bits per cell.
+	 *
+	 * @param maze   maze to write
+	 * @param output stream to write to
+	 * @throws IOException if writing fails
+	 */
+	private static void writeMaze(int[][] maze, ByteArrayOutputStream output) throws IOException {
+		int columns = maze.length == 0 ? 0 : maze[0].length;
+		int largest = 0;
+		for (int[] row : maze) {
+			if (row.length != columns) {
+				throw new IllegalArgumentException("Maze must be rectangular.");
+			}
+			for (int value : row) {
+				if (value < 0 || value >= 1 << MAX_CELL_BITS) {
+					throw new IllegalArgumentException(
+							"Cell values must be between 0 and " + ((1 << MAX_CELL_BITS) - 1) + ".");
+				}
+				largest |= value;
+			}
+		}
+		int bits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(largest));
+		MazeBinaryCodec.writeVarint(output, maze.length);
+		MazeBinaryCodec.writeVarint(output, columns);
+		output.write(bits);
+
+		byte[] packed = new byte[(int) (((long) maze.length * columns * bits + 7) / 8)];
+		long bitPosition = 0;
+		for (int[] row : maze) {
+			for (int value : row) {
+				// cell may straddle two bytes
+				int shift = 16 - bits - (int) (bitPosition & 7);
+				int index = (int) (bitPosition >>> 3);
+				int placed = value << shift;
+				packed[index] |= placed >>> 8;
+				if (shift < 8) {
+					packed[index + 1] |= placed;
+				}
+				bitPosition += bits;
+			}
+		}
+		output.write(packed);
+	}
+
+	/**
+	 * Helper function that reads one maze.
+	 *
+	 * @param input stream to read from
+	 * @return maze
+	 * @throws IOException if reading fails or data ends early
+	 */
+	private static int[][] readMaze(InputStream input) throws IOException {
+		long rows = MazeBinaryCodec.readVarint(input);
+		long columns = MazeBinaryCodec.readVarint(input);
+		int bits = MazeBinaryCodec.readByte(input);
+		if (rows < 0 || columns < 0 || rows > Maze.LIMIT_DIMENSIONS || columns > Maze.LIMIT_DIMENSIONS || bits < 1
+				|| bits > MAX_CELL_BITS) {
+			throw new IllegalArgumentException("Saved mazes data is invalid.");
+		}
+		int length = (int) ((rows * columns * bits + 7) / 8);
+		byte[] packed = input.readNBytes(length);
+		if (packed.length < length) {
+			throw new EOFException("Saved mazes data ended early.");
+		}
+
+		int mask = (1 << bits) - 1;
+		int[][] maze = new int[(int) rows][(int) columns];
+		long bitPosition = 0;
+		for (int[] row : maze) {
+			for (int j = 0; j < row.length; j++) {
+				int index = (int) (bitPosition >>> 3);
+				int pair = (packed[index] & 0xFF) << 8;
+				if (index + 1 < packed.length) {
+					pair |= packed[index + 1] & 0xFF;
+				}
+				row[j] = (pair >>> (16 - bits - (int) (bitPosition & 7))) & mask;
+				bitPosition += bits;
+			}
+		}
+		return maze;
+	}
+
+	/**
+	 * Helper function that deflates bytes.
+	 *
+	 * @param bytes bytes to deflate
+	 * @return deflated bytes
+	 */
+	private static byte[] deflate(byte[] bytes) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length);
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try (DeflaterOutputStream deflating = new DeflaterOutputStream(output, deflater)) {
+			deflating.write(bytes);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			deflater.end();
+		}
+		return output.toByteArray();
+	}
+
+}
@@ -0,0 +1,43 @@
+package isaiah.maze_website.generators;
+
+import org.springframework.stereotype.Component;
+
+import isaiah.maze_website.models.Maze;
+
+/**
+ * Generates mazes with a cellular automata, using the requested rulestring.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class AutomataGenerator implements MazeGenerator {
+
+	/**
+	 * Largest dimensions generated, below Maze.LIMIT_DIMENSIONS. Automata can run
+	 * for hundreds of generations before repeating, each a full pass over the
+	 * maze, so generation time grows much faster than maze size.
+	 */
+	private static final int MAX_DIMENSIONS = 500;
+
+	@Override
+	public String getType() {
+		return "ca";
+	}
+
+	@Override
+	public void generate(Maze maze, String rule) {
+		maze.automataGenerationStart(rule);
+	}
+
+	@Override
+	public Cost getCost() {
+		return Cost.HIGH;
+	}
+
+	@Override
+	public int getMaxDimensions() {
+		return MAX_DIMENSIONS;
+	}
+
+}
@@ -0,0 +1,45 @@
+package isaiah.maze_website.generators;
+
+import java.util.SplittableRandom;
+
+import org.springframework.stereotype.Component;
+
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.rows.BinaryTreeRowGenerator;
+import isaiah.maze_website.models.rows.RowGenerator;
+
+/**
+ * Generates mazes with the binary tree algorithm.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class BinaryTreeGenerator implements MazeGenerator {
+
+	@Override
+	public String getType() {
+		return "binary tree";
+	}
+
+	@Override
+	public void generate(Maze maze, String rule) {
+		maze.binaryTreeGeneration();
+	}
+
+	@Override
+	public Cost getCost() {
+		return Cost.LOW;
+	}
+
+	@Override
+	public boolean supportsStreaming() {
+		return true;
+	}
+
+	@Override
+	public RowGenerator createRowGenerator(SplittableRandom random) {
+		return new BinaryTreeRowGenerator(random);
+	}
+
+}
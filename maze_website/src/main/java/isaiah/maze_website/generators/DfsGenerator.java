@@ -0,0 +1,31 @@
+package isaiah.maze_website.generators;
+
+import org.springframework.stereotype.Component;
+
+import isaiah.maze_website.models.Maze;
+
+/**
+ * Generates mazes with depth-first search.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class DfsGenerator implements MazeGenerator {
+
+	@Override
+	public String getType() {
+		return "dfs";
+	}
+
+	@Override
+	public void generate(Maze maze, String rule) {
+		maze.dfsGenerationStart();
+	}
+
+	@Override
+	public Cost getCost() {
+		return Cost.MEDIUM;
+	}
+
+}
@@ -0,0 +1,45 @@
+package isaiah.maze_website.generators;
+
+import java.util.SplittableRandom;
+
+import org.springframework.stereotype.Component;
+
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.rows.EllerRowGenerator;
+import isaiah.maze_website.models.rows.RowGenerator;
+
+/**
+ * Generates mazes with Eller's algorithm.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class EllerGenerator implements MazeGenerator {
+
+	@Override
+	public String getType() {
+		return "eller";
+	}
+
+	@Override
+	public void generate(Maze maze, String rule) {
+		maze.ellerGeneration();
+	}
+
+	@Override
+	public Cost getCost() {
+		return Cost.LOW;
+	}
+
+	@Override
+	public boolean supportsStreaming() {
+		return true;
+	}
+
+	@Override
+	public RowGenerator createRowGenerator(SplittableRandom random) {
+		return new EllerRowGenerator(random);
+	}
+
+}
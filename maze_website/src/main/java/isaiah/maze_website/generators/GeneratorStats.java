@@ -0,0 +1,69 @@
+package isaiah.maze_website.generators;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts and times generations for one generator. Safe to update from many
+ * request threads at once.
+ * 
+ * @author Isaiah
+ *
+ */
+public class GeneratorStats {
+
+	/**
+	 * Nanoseconds in a millisecond.
+	 */
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+	/**
+	 * Number of generations.
+	 */
+	private final LongAdder count = new LongAdder();
+
+	/**
+	 * Total generation time in nanoseconds.
+	 */
+	private final LongAdder totalNanos = new LongAdder();
+
+	/**
+	 * Longest generation time in nanoseconds.
+	 */
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Records one generation.
+	 * 
+	 * @param nanos generation time in nanoseconds
+	 */
+	public void record(long nanos) {
+		count.increment();
+		totalNanos.add(nanos);
+		maxNanos.accumulate(nanos);
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Gets average generation time.
+	 * 
+	 * @return average in milliseconds, 0 if nothing generated
+	 */
+	public double getAverageMillis() {
+		long generations = count.sum();
+		return generations == 0 ? 0 : totalNanos.sum() / NANOS_PER_MILLI / generations;
+	}
+
+	/**
+	 * Gets longest generation time.
+	 * 
+	 * @return longest time in milliseconds
+	 */
+	public double getMaxMillis() {
+		return maxNanos.get() / NANOS_PER_MILLI;
+	}
+
+}
@@ -0,0 +1,31 @@
+package isaiah.maze_website.generators;
+
+import org.springframework.stereotype.Component;
+
+import isaiah.maze_website.models.Maze;
+
+/**
+ * Generates mazes with randomized Kruskal's algorithm.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class KruskalGenerator implements MazeGenerator {
+
+	@Override
+	public String getType() {
+		return "kruskal";
+	}
+
+	@Override
+	public void generate(Maze maze, String rule) {
+		maze.kruskalGeneration();
+	}
+
+	@Override
+	public Cost getCost() {
+		return Cost.MEDIUM;
+	}
+
+}
@@ -0,0 +1,102 @@
+package isaiah.maze_website.generators;
+
+import java.util.SplittableRandom;
+
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.rows.RowGenerator;
+
+/**
+ * A type of maze generation that can be requested by name. Each generator is a
+ * Spring component, and MazeGeneratorRegistry finds all of them at startup, so
+ * adding a generator only needs a new class in this package.
+ * 
+ * @author Isaiah
+ *
+ */
+public interface MazeGenerator {
+
+	/**
+	 * Rough cost of generating a maze, used to decide how requests are served.
+	 */
+	enum Cost {
+
+		/**
+		 * Single pass with little work per position. Cheaper to generate on request
+		 * than to keep ready.
+		 */
+		LOW,
+
+		/**
+		 * Close to linear in maze size, with more work per position.
+		 */
+		MEDIUM,
+
+		/**
+		 * Slower than linear or many passes over the maze. Worth keeping ready-made
+		 * mazes for.
+		 */
+		HIGH
+	}
+
+	/**
+	 * Gets name used to request this type of generation.
+	 * 
+	 * @return generation type
+	 */
+	String getType();
+
+	/**
+	 * Generates maze.
+	 * 
+	 * @param maze maze to generate
+	 * @param rule rulestring for generators that use one, ignored by others
+	 */
+	void generate(Maze maze, String rule);
+
+	/**
+	 * Gets rough cost of generation.
+	 * 
+	 * @return cost
+	 */
+	Cost getCost();
+
+	/**
+	 * Gets largest dimensions this generator handles in reasonable time. Requests
+	 * are also limited by the configured max dimensions.
+	 * 
+	 * @return largest dimensions
+	 */
+	default int getMaxDimensions() {
+		return Maze.LIMIT_DIMENSIONS;
+	}
+
+	/**
+	 * Checks if a seed makes generation repeatable.
+	 * 
+	 * @return true if seeded mazes are always the same
+	 */
+	default boolean supportsSeeding() {
+		return true;
+	}
+
+	/**
+	 * Checks if mazes can be generated one row at a time.
+	 * 
+	 * @return true if createRowGenerator can be used
+	 */
+	default boolean supportsStreaming() {
+		return false;
+	}
+
+	/**
+	 * Creates row generator for streaming mazes one row at a time.
+	 * 
+	 * @param random random source for generation
+	 * @return row generator
+	 * @throws UnsupportedOperationException if streaming is not supported
+	 */
+	default RowGenerator createRowGenerator(SplittableRandom random) {
+		throw new UnsupportedOperationException(getType() + " mazes cannot be generated by rows.");
+	}
+
+}
@@ -0,0 +1,110 @@
+package isaiah.maze_website.generators;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+import isaiah.maze_website.models.Maze;
+
+/**
+ * Finds generators by generation type. Built once at startup from every
+ * MazeGenerator component, so requests only need a map lookup. Generation run
+ * through the registry is counted and timed for each generator.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class MazeGeneratorRegistry {
+
+	/**
+	 * Generators keyed by generation type, sorted so generators are always
+	 * described in the same order.
+	 */
+	private final Map<String, MazeGenerator> generators = new TreeMap<String, MazeGenerator>();
+
+	/**
+	 * Stats for each generator, keyed by generation type.
+	 */
+	private final Map<String, GeneratorStats> stats = new TreeMap<String, GeneratorStats>();
+
+	/**
+	 * Creates registry from all generators.
+	 * 
+	 * @param generatorList every MazeGenerator component
+	 */
+	public MazeGeneratorRegistry(List<MazeGenerator> generatorList) {
+		for (MazeGenerator generator : generatorList) {
+			if (generators.put(generator.getType(), generator) != null) {
+				throw new IllegalStateException("Duplicate generation type: " + generator.getType());
+			}
+			stats.put(generator.getType(), new GeneratorStats());
+		}
+	}
+
+	/**
+	 * Checks if generation type can be requested.
+	 * 
+	 * @param generationType type of maze to generate
+	 * @return true if a generator exists for type
+	 */
+	public boolean contains(String generationType) {
+		return generators.containsKey(generationType);
+	}
+
+	/**
+	 * Gets generator for generation type.
+	 * 
+	 * @param generationType type of maze to generate
+	 * @return generator
+	 * @throws IllegalArgumentException if no generator exists for type
+	 */
+	public MazeGenerator get(String generationType) {
+		MazeGenerator generator = generators.get(generationType);
+		if (generator == null) {
+			throw new IllegalArgumentException("Unknown generation type: " + generationType);
+		}
+		return generator;
+	}
+
+	/**
+	 * Generates maze, recording time taken in generator's stats.
+	 * 
+	 * @param generator generator to use
+	 * @param maze      maze to generate
+	 * @param rule      rulestring for generators that use one
+	 */
+	public void generate(MazeGenerator generator, Maze maze, String rule) {
+		long start = System.nanoTime();
+		generator.generate(maze, rule);
+		stats.get(generator.getType()).record(System.nanoTime() - start);
+	}
+
+	/**
+	 * Describes every generator, with capabilities and stats.
+	 * 
+	 * @return one map of properties for each generator
+	 */
+	public List<Map<String, Object>> describe() {
+		List<Map<String, Object>> descriptions = new ArrayList<Map<String, Object>>();
+		for (MazeGenerator generator : generators.values()) {
+			GeneratorStats generatorStats = stats.get(generator.getType());
+			Map<String, Object> description = new LinkedHashMap<String, Object>();
+			description.put("type", generator.getType());
+			description.put("cost", generator.getCost().name());
+			description.put("maxDimensions", generator.getMaxDimensions());
+			description.put("supportsSeeding", generator.supportsSeeding());
+			description.put("supportsStreaming", generator.supportsStreaming());
+			description.put("count", generatorStats.getCount());
+			description.put("averageMillis", generatorStats.getAverageMillis());
+			description.put("maxMillis", generatorStats.getMaxMillis());
+			descriptions.add(description);
+		}
+		return descriptions;
+	}
+
+}
@@ -0,0 +1,32 @@
+package isaiah.maze_website.generators;
+
+import org.springframework.stereotype.Component;
+
+import isaiah.maze_website.models.Maze;
+
+/**
+ * Generates mazes by recursive division. Large mazes are divided in parallel
+ * when steps are not recorded.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class RecursiveDivisionGenerator implements MazeGenerator {
+
+	@Override
+	public String getType() {
+		return "recursive division";
+	}
+
+	@Override
+	public void generate(Maze maze, String rule) {
+		maze.recursiveDivisionGenerationStart();
+	}
+
+	@Override
+	public Cost getCost() {
+		return Cost.MEDIUM;
+	}
+
+}
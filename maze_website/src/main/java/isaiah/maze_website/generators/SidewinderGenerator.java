@@ -0,0 +1,45 @@
+package isaiah.maze_website.generators;
+
+import java.util.SplittableRandom;
+
+import org.springframework.stereotype.Component;
+
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.rows.RowGenerator;
+import isaiah.maze_website.models.rows.SidewinderRowGenerator;
+
+/**
+ * Generates mazes with the sidewinder algorithm.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class SidewinderGenerator implements MazeGenerator {
+
+	@Override
+	public String getType() {
+		return "sidewinder";
+	}
+
+	@Override
+	public void generate(Maze maze, String rule) {
+		maze.sidewinderGeneration();
+	}
+
+	@Override
+	public Cost getCost() {
+		return Cost.LOW;
+	}
+
+	@Override
+	public boolean supportsStreaming() {
+		return true;
+	}
+
+	@Override
+	public RowGenerator createRowGenerator(SplittableRandom random) {
+		return new SidewinderRowGenerator(random);
+	}
+
+}
@@ -0,0 +1,32 @@
+package isaiah.maze_website.generators;
+
+import org.springframework.stereotype.Component;
+
+import isaiah.maze_website.models.Maze;
+
+/**
+ * Generates mazes with Wilson's algorithm. Random walks make its cost vary
+ * more than other generators.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class WilsonGenerator implements MazeGenerator {
+
+	@Override
+	public String getType() {
+		return "wilson";
+	}
+
+	@Override
+	public void generate(Maze maze, String rule) {
+		maze.wilsonGeneration();
+	}
+
+	@Override
+	public Cost getCost() {
+		return Cost.HIGH;
+	}
+
+}
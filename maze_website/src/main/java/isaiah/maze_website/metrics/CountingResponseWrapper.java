@@ -0,0 +1,126 @@
+package isaiah.maze_website.metrics;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response that counts bytes written to its body. Bytes are passed straight
+ * through, so streamed responses are not buffered.
+ * 
+ * @author Isaiah
+ *
+ */
+public class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+	/**
+	 * Bytes written so far. Streamed bodies are written from another thread.
+	 */
+	private volatile long bytesWritten;
+
+	/**
+	 * Counting stream, created when first requested.
+	 */
+	private ServletOutputStream outputStream;
+
+	/**
+	 * Writer over counting stream, created when first requested.
+	 */
+	private PrintWriter writer;
+
+	/**
+	 * Wraps response.
+	 * 
+	 * @param response response to count
+	 */
+	public CountingResponseWrapper(HttpServletResponse response) {
+		super(response);
+	}
+
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (outputStream == null) {
+			outputStream = new CountingOutputStream(super.getOutputStream());
+		}
+		return outputStream;
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (writer == null) {
+			writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+		}
+		return writer;
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		if (writer != null) {
+			writer.flush();
+		}
+		super.flushBuffer();
+	}
+
+	/**
+	 * Stream that counts bytes before passing them to the response's stream.
+	 */
+	private class CountingOutputStream extends ServletOutputStream {
+
+		/**
+		 * Response's own stream.
+		 */
+		private final ServletOutputStream delegate;
+
+		/**
+		 * Wraps stream.
+		 * 
+		 * @param delegate response's own stream
+		 */
+		CountingOutputStream(ServletOutputStream delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			delegate.write(b);
+			bytesWritten++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			delegate.write(b, off, len);
+			bytesWritten += len;
+		}
+
+		@Override
+		public void flush() throws IOException {
+			delegate.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			delegate.close();
+		}
+
+		@Override
+		public boolean isReady() {
+			return delegate.isReady();
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+			delegate.setWriteListener(writeListener);
+		}
+
+	}
+
+}
@@ -0,0 +1,101 @@
+package isaiah.maze_website.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Records application metrics that Spring Boot does not record on its own:
+ * generation time and steps for each generation type, and response size and
+ * database queries for each endpoint. Metrics are scraped from
+ * /actuator/prometheus.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class MazeMetrics {
+
+	/**
+	 * Largest dimensions tagged exactly. Larger dimensions are grouped by the next
+	 * power of two, so configured max dimensions cannot create unbounded tags.
+	 */
+	private static final int EXACT_DIMENSIONS_TAG_LIMIT = 50;
+
+	/**
+	 * Source tag for mazes generated to answer a request.
+	 */
+	public static final String SOURCE_REQUEST = "request";
+
+	/**
+	 * Source tag for mazes generated in the background to refill pools.
+	 */
+	public static final String SOURCE_POOL = "pool";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	/**
+	 * Records time taken to generate a maze.
+	 * 
+	 * @param generationType type of maze generated
+	 * @param dimensions     dimensions of maze
+	 * @param source         SOURCE_REQUEST or SOURCE_POOL
+	 * @param nanos          time taken in nanoseconds
+	 */
+	public void recordGeneration(String generationType, int dimensions, String source, long nanos) {
+		meterRegistry.timer("maze.generation", "generationType", generationType, "dimensions",
+				dimensionsTag(dimensions), "source", source).record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Counts steps recorded while generating a maze.
+	 * 
+	 * @param generationType type of maze generated
+	 * @param steps          number of steps recorded
+	 */
+	public void countSteps(String generationType, int steps) {
+		if (steps > 0) {
+			meterRegistry.counter("maze.generation.steps", "generationType", generationType).increment(steps);
+		}
+	}
+
+	/**
+	 * Records size of a response body.
+	 * 
+	 * @param uri   endpoint pattern of request
+	 * @param bytes bytes written
+	 */
+	public void recordResponseSize(String uri, long bytes) {
+		DistributionSummary.builder("http.server.response.size").baseUnit("bytes").tag("uri", uri)
+				.register(meterRegistry).record(bytes);
+	}
+
+	/**
+	 * Records number of database queries run for a request.
+	 * 
+	 * @param uri     endpoint pattern of request
+	 * @param queries number of queries run
+	 */
+	public void recordQueries(String uri, int queries) {
+		DistributionSummary.builder("jpa.queries").tag("uri", uri).register(meterRegistry).record(queries);
+	}
+
+	/**
+	 * Helper function that builds dimensions tag.
+	 * 
+	 * @param dimensions dimensions of maze
+	 * @return exact dimensions for small mazes, otherwise upper bound of group
+	 */
+	private static String dimensionsTag(int dimensions) {
+		if (dimensions <= EXACT_DIMENSIONS_TAG_LIMIT) {
+			return Integer.toString(dimensions);
+		}
+		return "<=" + (Integer.highestOneBit(dimensions - 1) << 1);
+	}
+
+}
@@ -0,0 +1,22 @@
+package isaiah.maze_website.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sets up query counting for database metrics.
+ * 
+ * @author Isaiah
+ *
+ */
+@Configuration
+public class MetricsConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer queryCountCustomizer() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+	}
+
+}
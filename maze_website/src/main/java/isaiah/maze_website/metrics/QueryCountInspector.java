@@ -0,0 +1,47 @@
+package isaiah.maze_website.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts SQL statements prepared by Hibernate on the current thread. The count
+ * is reset at the start of each request by RequestMetricsFilter, so it gives
+ * the number of queries run for that request.
+ * 
+ * @author Isaiah
+ *
+ */
+public class QueryCountInspector implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Statements prepared on each thread since last reset.
+	 */
+	private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+	/**
+	 * Counts statement, leaving it unchanged.
+	 */
+	@Override
+	public String inspect(String sql) {
+		COUNT.get()[0]++;
+		return sql;
+	}
+
+	/**
+	 * Resets count for current thread.
+	 */
+	public static void reset() {
+		COUNT.get()[0] = 0;
+	}
+
+	/**
+	 * Gets count for current thread.
+	 * 
+	 * @return statements prepared since last reset
+	 */
+	public static int getCount() {
+		return COUNT.get()[0];
+	}
+
+}
@@ -0,0 +1,75 @@
+package isaiah.maze_website.metrics;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records response size and database queries for each request, tagged by
+ * endpoint pattern. Streamed responses finish on an async dispatch, so they
+ * are recorded once the stream is done.
+ * 
+ * @author Isaiah
+ *
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+	/**
+	 * Request attribute holding counting response between dispatches.
+	 */
+	private static final String RESPONSE_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".response";
+
+	/**
+	 * Request attribute holding queries counted on earlier dispatches.
+	 */
+	private static final String QUERIES_ATTRIBUTE = RequestMetricsFilter.class.getName() + ".queries";
+
+	/**
+	 * Tag for requests that did not match an endpoint.
+	 */
+	private static final String UNKNOWN_URI = "UNKNOWN";
+
+	@Autowired
+	private MazeMetrics mazeMetrics;
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		CountingResponseWrapper counting = (CountingResponseWrapper) request.getAttribute(RESPONSE_ATTRIBUTE);
+		if (counting == null) {
+			counting = new CountingResponseWrapper(response);
+			request.setAttribute(RESPONSE_ATTRIBUTE, counting);
+			response = counting;
+		}
+		QueryCountInspector.reset();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			Integer earlierQueries = (Integer) request.getAttribute(QUERIES_ATTRIBUTE);
+			int queries = QueryCountInspector.getCount() + (earlierQueries == null ? 0 : earlierQueries);
+			if (request.isAsyncStarted()) {
+				request.setAttribute(QUERIES_ATTRIBUTE, queries);
+			} else {
+				Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+				String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+				mazeMetrics.recordResponseSize(uri, counting.getBytesWritten());
+				mazeMetrics.recordQueries(uri, queries);
+			}
+		}
+	}
+
+}
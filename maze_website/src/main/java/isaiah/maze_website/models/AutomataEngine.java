@@ -0,0 +1,373 @@
+package isaiah.maze_website.models;
+
+/**
+ * Runs a cellular automata on a square grid, 64 positions at a time. Each row is
+ * packed into long words with one bit per position (1 for live). Counts of live
+ * positions are added with word-wide adder logic instead of per position, and
+ * two preallocated buffers are swapped between generations.
+ *
+ * Rulestrings use the same counting as maze generation has always used: the
+ * count covers the 3x3 block around a position, including the position itself.
+ * A position is live in the next generation if its count is in the born
+ * section, or if it is live and its count is in the survive section.
+ *
+ * @author Isaiah
+ *
+ */
+public class AutomataEngine {
+
+	/**
+	 * Rulestring used for maze generation when none is given.
+	 */
+	public static final String DEFAULT_RULESTRING = "B3/S12345";
+
+	/**
+	 * Largest possible count (full 3x3 block).
+	 */
+	private static final int MAX_COUNT = 9;
+
+	/**
+	 * Shift converting a column into a word index (64 positions per word).
+	 */
+	private static final int WORD_SHIFT = 6;
+
+	/**
+	 * Mask for the position of a column inside its word.
+	 */
+	private static final int BIT_MASK = Long.SIZE - 1;
+
+	/**
+	 * Constants for mixing position keys used in fingerprints (SplitMix64).
+	 */
+	private static final long KEY_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final long KEY_MIX_1 = 0xBF58476D1CE4E5B9L;
+	private static final long KEY_MIX_2 = 0x94D049BB133111EBL;
+	private static final int KEY_SHIFT_1 = 30;
+	private static final int KEY_SHIFT_2 = 27;
+	private static final int KEY_SHIFT_3 = 31;
+
+	/**
+	 * Width and height of grid.
+	 */
+	private final int dimensions;
+
+	/**
+	 * Number of words used for each row.
+	 */
+	private final int wordsPerRow;
+
+	/**
+	 * Mask of used bits in the last word of each row.
+	 */
+	private final long lastWordMask;
+
+	/**
+	 * Counts (0 to 9) that make a position live. Precomputed from rulestring.
+	 */
+	private final int[] bornCounts;
+
+	/**
+	 * Counts (0 to 9) that keep a live position live. Precomputed from
+	 * rulestring.
+	 */
+	private final int[] surviveCounts;
+
+	/**
+	 * Current generation, row-major.
+	 */
+	private long[] current;
+
+	/**
+	 * Buffer for the next generation, swapped with current after each step.
+	 */
+	private long[] next;
+
+	/**
+	 * Fingerprint of current generation.
+	 */
+	private long fingerprint;
+
+	/**
+	 * Creates engine for a grid and rulestring.
+	 *
+	 * @param dimensions width and height of grid
+	 * @param rulestring rulestring such as B3/S12345
+	 */
+	public AutomataEngine(int dimensions, String rulestring) {
+		this.dimensions = dimensions;
+		this.wordsPerRow = (dimensions + BIT_MASK) >>> WORD_SHIFT;
+		int usedBits = dimensions & BIT_MASK;
+		this.lastWordMask = usedBits == 0 ? -1L : (1L << usedBits) - 1;
+		boolean[][] rule = parseRulestring(rulestring);
+		this.bornCounts = countsOf(rule[0]);
+		this.surviveCounts = countsOf(rule[1]);
+		this.current = new long[dimensions * wordsPerRow];
+		this.next = new long[dimensions * wordsPerRow];
+	}
+
+	/**
+	 * Checks if rulestring can be used by engine.
+	 *
+	 * @param rulestring rulestring such as B3/S12345
+	 * @return true if valid
+	 */
+	public static boolean isValidRulestring(String rulestring) {
+		try {
+			parseRulestring(rulestring);
+			return true;
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Loads current generation from grid. Positions with value 1 are live.
+	 *
+	 * @param grid grid to read
+	 */
+	public void load(MazeGrid grid) {
+		fingerprint = 0;
+		for (int x = 0; x < dimensions; x++) {
+			int rowStart = x * wordsPerRow;
+			for (int w = 0; w < wordsPerRow; w++) {
+				current[rowStart + w] = 0;
+			}
+			for (int y = 0; y < dimensions; y++) {
+				if (grid.get(x, y) == 1) {
+					current[rowStart + (y >>> WORD_SHIFT)] |= 1L << (y & BIT_MASK);
+					fingerprint ^= cellKey(x * dimensions + y);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stores current generation in grid, 1 for live and 0 otherwise.
+	 *
+	 * @param grid grid to write
+	 */
+	public void store(MazeGrid grid) {
+		for (int x = 0; x < dimensions; x++) {
+			int rowStart = x * wordsPerRow;
+			for (int y = 0; y < dimensions; y++) {
+				grid.set(x, y, (int) (current[rowStart + (y >>> WORD_SHIFT)] >>> (y & BIT_MASK)) & 1);
+			}
+		}
+	}
+
+	/**
+	 * Gets fingerprint of current generation. Fingerprint is the xor of a 64 bit
+	 * key for each live position (Zobrist hashing).
+	 *
+	 * @return fingerprint
+	 */
+	public long getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * Runs one generation. Edges are bounded instead of wrapping. Fingerprint is
+	 * updated only for positions that change.
+	 *
+	 * @return fingerprint of new generation
+	 */
+	public long step() {
+		for (int x = 0; x < dimensions; x++) {
+			int rowStart = x * wordsPerRow;
+			for (int w = 0; w < wordsPerRow; w++) {
+				// 2 bit horizontal sums for rows above, at, and below position
+				long above0 = 0;
+				long above1 = 0;
+				if (x > 0) {
+					int above = rowStart - wordsPerRow + w;
+					long left = left(above, w);
+					long right = right(above, w);
+					above0 = left ^ current[above] ^ right;
+					above1 = (left & current[above]) | (left & right) | (current[above] & right);
+				}
+				int i = rowStart + w;
+				long left = left(i, w);
+				long right = right(i, w);
+				long middle0 = left ^ current[i] ^ right;
+				long middle1 = (left & current[i]) | (left & right) | (current[i] & right);
+				long below0 = 0;
+				long below1 = 0;
+				if (x < dimensions - 1) {
+					int below = rowStart + wordsPerRow + w;
+					left = left(below, w);
+					right = right(below, w);
+					below0 = left ^ current[below] ^ right;
+					below1 = (left & current[below]) | (left & right) | (current[below] & right);
+				}
+
+				// add above and middle (0 to 6)
+				long sum0 = above0 ^ middle0;
+				long carry = above0 & middle0;
+				long sum1 = above1 ^ middle1 ^ carry;
+				long sum2 = (above1 & middle1) | (above1 & carry) | (middle1 & carry);
+				// add below (0 to 9)
+				long count0 = sum0 ^ below0;
+				carry = sum0 & below0;
+				long count1 = sum1 ^ below1 ^ carry;
+				carry = (sum1 & below1) | (sum1 & carry) | (below1 & carry);
+				long count2 = sum2 ^ carry;
+				long count3 = sum2 & carry;
+
+				long born = 0;
+				for (int count : bornCounts) {
+					born |= countEquals(count, count0, count1, count2, count3);
+				}
+				long survive = 0;
+				for (int count : surviveCounts) {
+					survive |= countEquals(count, count0, count1, count2, count3);
+				}
+				long updated = born | (survive & current[i]);
+				if (w == wordsPerRow - 1) {
+					updated &= lastWordMask;
+				}
+				next[i] = updated;
+
+				// update fingerprint for changed positions
+				long changed = updated ^ current[i];
+				while (changed != 0) {
+					int bit = Long.numberOfTrailingZeros(changed);
+					fingerprint ^= cellKey(x * dimensions + (w << WORD_SHIFT) + bit);
+					changed &= changed - 1;
+				}
+			}
+		}
+
+		// swap buffers
+		long[] temp = current;
+		current = next;
+		next = temp;
+		return fingerprint;
+	}
+
+	/**
+	 * Helper function giving word where each bit holds the position to its left.
+	 *
+	 * @param i index of word
+	 * @param w word index within row
+	 * @return shifted word
+	 */
+	private long left(int i, int w) {
+		long shifted = current[i] << 1;
+		if (w > 0) {
+			shifted |= current[i - 1] >>> BIT_MASK;
+		}
+		return shifted;
+	}
+
+	/**
+	 * Helper function giving word where each bit holds the position to its right.
+	 *
+	 * @param i index of word
+	 * @param w word index within row
+	 * @return shifted word
+	 */
+	private long right(int i, int w) {
+		long shifted = current[i] >>> 1;
+		if (w < wordsPerRow - 1) {
+			shifted |= current[i + 1] << BIT_MASK;
+		}
+		return shifted;
+	}
+
+	/**
+	 * Helper function giving word with bits set where the 4 bit count equals a
+	 * value.
+	 *
+	 * @param value  count to match
+	 * @param count0 lowest bit of counts
+	 * @param count1 second bit of counts
+	 * @param count2 third bit of counts
+	 * @param count3 highest bit of counts
+	 * @return matching bits
+	 */
+	private static long countEquals(int value, long count0, long count1, long count2, long count3) {
+		long match = (value & 1) != 0 ? count0 : ~count0;
+		match &= (value & 2) != 0 ? count1 : ~count1;
+		match &= (value & 4) != 0 ? count2 : ~count2;
+		match &= (value & 8) != 0 ? count3 : ~count3;
+		return match;
+	}
+
+	/**
+	 * Helper function that parses a rulestring of the form B[digits]/S[digits].
+	 * The slash is optional.
+	 *
+	 * @param rulestring rulestring to parse
+	 * @return born counts and survive counts as lookup tables
+	 */
+	private static boolean[][] parseRulestring(String rulestring) {
+		if (rulestring == null) {
+			throw new IllegalArgumentException("Rulestring is required.");
+		}
+		String rule = rulestring.trim().toUpperCase();
+		int survive = rule.indexOf('S');
+		if (!rule.startsWith("B") || survive < 0) {
+			throw new IllegalArgumentException("Rulestring must look like B3/S12345.");
+		}
+		String bornPart = rule.substring(1, survive);
+		if (bornPart.endsWith("/")) {
+			bornPart = bornPart.substring(0, bornPart.length() - 1);
+		}
+		return new boolean[][] { parseCounts(bornPart), parseCounts(rule.substring(survive + 1)) };
+	}
+
+	/**
+	 * Helper function that parses a section of digits into a lookup table.
+	 *
+	 * @param digits digits from 0 to 9
+	 * @return table of which counts are included
+	 */
+	private static boolean[] parseCounts(String digits) {
+		boolean[] counts = new boolean[MAX_COUNT + 1];
+		for (char c : digits.toCharArray()) {
+			if (c < '0' || c > '9') {
+				throw new IllegalArgumentException("Rulestring counts must be digits from 0 to 9.");
+			}
+			counts[c - '0'] = true;
+		}
+		return counts;
+	}
+
+	/**
+	 * Helper function listing the counts included in a lookup table.
+	 *
+	 * @param table lookup table
+	 * @return included counts
+	 */
+	private static int[] countsOf(boolean[] table) {
+		int size = 0;
+		for (boolean included : table) {
+			if (included) {
+				size++;
+			}
+		}
+		int[] counts = new int[size];
+		int index = 0;
+		for (int c = 0; c < table.length; c++) {
+			if (table[c]) {
+				counts[index++] = c;
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Helper function giving each position a random-looking 64 bit key. Keys are
+	 * mixed from the index (SplitMix64) instead of stored in a table.
+	 *
+	 * @param index position index (x * dimensions + y)
+	 * @return key for position
+	 */
+	private static long cellKey(int index) {
+		long key = (index + 1) * KEY_GAMMA;
+		key = (key ^ (key >>> KEY_SHIFT_1)) * KEY_MIX_1;
+		key = (key ^ (key >>> KEY_SHIFT_2)) * KEY_MIX_2;
+		return key ^ (key >>> KEY_SHIFT_3);
+	}
+
+}
@@ -0,0 +1,89 @@
+package isaiah.maze_website.models;
+
+/**
+ * Disjoint-set forest (union-find) over positions 0 to size - 1, stored in int
+ * arrays. Uses path halving and union by size, so each operation is close to
+ * constant time.
+ * 
+ * @author Isaiah
+ *
+ */
+public class DisjointSet {
+
+	/**
+	 * Parent of each position. A position is the root of its set when it is its
+	 * own parent.
+	 */
+	private final int[] parents;
+
+	/**
+	 * Number of positions in each set, only valid for roots.
+	 */
+	private final int[] sizes;
+
+	/**
+	 * Creates forest with each position in its own set.
+	 * 
+	 * @param size number of positions
+	 */
+	public DisjointSet(int size) {
+		parents = new int[size];
+		sizes = new int[size];
+		for (int i = 0; i < size; i++) {
+			parents[i] = i;
+			sizes[i] = 1;
+		}
+	}
+
+	/**
+	 * Finds root of set containing position.
+	 * 
+	 * @param position position to look up
+	 * @return root of set
+	 */
+	public int find(int position) {
+		int current = position;
+		while (parents[current] != current) {
+			// path halving: point to grandparent while walking up
+			parents[current] = parents[parents[current]];
+			current = parents[current];
+		}
+		return current;
+	}
+
+	/**
+	 * Merges sets containing two positions.
+	 * 
+	 * @param first  first position
+	 * @param second second position
+	 * @return true if positions were in different sets
+	 */
+	public boolean union(int first, int second) {
+		int firstRoot = find(first);
+		int secondRoot = find(second);
+		if (firstRoot == secondRoot) {
+			return false;
+		}
+		// attach smaller set under larger set
+		if (sizes[firstRoot] < sizes[secondRoot]) {
+			int temp = firstRoot;
+			firstRoot = secondRoot;
+			secondRoot = temp;
+		}
+		parents[secondRoot] = firstRoot;
+		sizes[firstRoot] += sizes[secondRoot];
+		return true;
+	}
+
+	/**
+	 * Checks if two positions are in the same set.
+	 * 
+	 * @param first  first position
+	 * @param second second position
+	 * @return true if connected
+	 */
+	public boolean connected(int first, int second) {
+		return find(first) == find(second);
+	}
+
+}
@@ -0,0 +1,111 @@
+package isaiah.maze_website.models;
+
+/**
+ * Set of primitive longs using open addressing, so values are never boxed.
+ * Used for remembering maze fingerprints.
+ * 
+ * @author Isaiah
+ *
+ */
+public class LongHashSet {
+
+	/**
+	 * Starting number of slots. Always a power of two.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * Multiplier used to spread values across slots (golden ratio).
+	 */
+	private static final long SPREAD = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * Slots holding values. Zero marks an empty slot, so zero itself is tracked
+	 * separately.
+	 */
+	private long[] slots = new long[INITIAL_CAPACITY];
+
+	/**
+	 * Whether zero has been added.
+	 */
+	private boolean containsZero;
+
+	/**
+	 * Number of non-zero values stored in slots.
+	 */
+	private int size;
+
+	/**
+	 * Adds value to set.
+	 * 
+	 * @param value value to add
+	 * @return true if value was not already in set
+	 */
+	public boolean add(long value) {
+		if (value == 0) {
+			boolean added = !containsZero;
+			containsZero = true;
+			return added;
+		}
+		// keep load factor at or below one half
+		if ((size + 1) * 2 > slots.length) {
+			grow();
+		}
+		int mask = slots.length - 1;
+		int slot = (int) ((value * SPREAD) >>> (Long.SIZE - Integer.numberOfTrailingZeros(slots.length))) & mask;
+		while (slots[slot] != 0) {
+			if (slots[slot] == value) {
+				return false;
+			}
+			slot = (slot + 1) & mask;
+		}
+		slots[slot] = value;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Checks if value is in set.
+	 * 
+	 * @param value value to look for
+	 * @return true if value was added before
+	 */
+	public boolean contains(long value) {
+		if (value == 0) {
+			return containsZero;
+		}
+		int mask = slots.length - 1;
+		int slot = (int) ((value * SPREAD) >>> (Long.SIZE - Integer.numberOfTrailingZeros(slots.length))) & mask;
+		while (slots[slot] != 0) {
+			if (slots[slot] == value) {
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Gets number of values in set.
+	 * 
+	 * @return number of values
+	 */
+	public int size() {
+		return size + (containsZero ? 1 : 0);
+	}
+
+	/**
+	 * Helper function that doubles number of slots and re-adds stored values.
+	 */
+	private void grow() {
+		long[] oldSlots = slots;
+		slots = new long[oldSlots.length * 2];
+		size = 0;
+		for (long value : oldSlots) {
+			if (value != 0) {
+				add(value);
+			}
+		}
+	}
+
+}
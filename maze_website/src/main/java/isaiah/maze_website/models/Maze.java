@@ -2,11 +2,16 @@ package isaiah.maze_website.models;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
-import java.util.ArrayList;
-import java.util.Random;
-import java.util.Stack;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import isaiah.maze_website.models.rows.BinaryTreeRowGenerator;
+import isaiah.maze_website.models.rows.EllerRowGenerator;
+import isaiah.maze_website.models.rows.RowGenerator;
+import isaiah.maze_website.models.rows.SidewinderRowGenerator;
+import isaiah.maze_website.models.steps.RecordingMode;
+import isaiah.maze_website.models.steps.StepRecorder;
 
 /**
  * Maze model. Contains maze generation methods, maze information, and solution
@@ -17,10 +22,16 @@ import java.util.Stack;
  */
 public class Maze {
 
-	private static final int DEFAULT_DIMENSIONS = 9;
+	public static final int DEFAULT_DIMENSIONS = 9;
 	private static final int MIN_DIMENSIONS = 5;
 	private static final int MAX_DIMENSIONS = 20;
 
+	/**
+	 * Upper bound for a configured max dimensions value. Kept low enough that a
+	 * final maze sent as JSON (an int[][] and its text) stays a few megabytes.
+	 */
+	public static final int LIMIT_DIMENSIONS = 1000;
+
 	/**
 	 * Max random value used in maze generation. (4 directions)
 	 */
@@ -46,10 +57,20 @@ public class Maze {
 	 */
 	private static final int SOUTH_WALL_SECTION = 4;
 
-	private static final int DIR1 = 1;
-	private static final int DIR2 = 2;
-	private static final int DIR3 = 3;
-	private static final int DIR4 = 4;
+	/**
+	 * Change in x for each direction used in generation: north, east, south, west.
+	 */
+	private static final int[] DIR_X = { 0, 1, 0, -1 };
+
+	/**
+	 * Change in y for each direction used in generation: north, east, south, west.
+	 */
+	private static final int[] DIR_Y = { -1, 0, 1, 0 };
+
+	/**
+	 * Bit mask with all four DFS directions available.
+	 */
+	private static final int ALL_DIRECTIONS = 0b1111;
 
 	/**
 	 * Value representing a target position in maze.
@@ -77,36 +98,45 @@ public class Maze {
 	private static final int EMPTY = 0;
 
 	/**
-	 * Born section of rulestring for cellular automata generation.
+	 * Variable for specified dimensions.
 	 */
-	private static final List<Integer> BORN = Arrays.asList(3);
+	private int dimensions;
 
 	/**
-	 * Survive section of rulestring for cellular automata generation.
+	 * Stores maze representation.
 	 */
-	private static final List<Integer> SURVIVE = Arrays.asList(1, 2, 3, 4, 5);
+	private MazeGrid grid;
 
 	/**
-	 * Variable for specified dimensions.
+	 * Records steps in maze generation.
 	 */
-	private int dimensions;
+	private StepRecorder recorder;
 
 	/**
-	 * Stores maze representation.
+	 * Random source for generation. Unseeded unless a seed is set, in which case
+	 * generation is repeatable.
 	 */
-	private int[][] values;
+	private SplittableRandom r = new SplittableRandom();
 
 	/**
-	 * Stores steps in maze generation.
+	 * Smallest section area divided in parallel by recursive division. Parallel
+	 * generation is off unless set.
 	 */
-	private List<int[][]> steps;
-
-	private Random r = new Random();
+	private int parallelCutoff = Integer.MAX_VALUE;
 
 	public Maze() {
+		this(RecordingMode.SNAPSHOT.createRecorder());
+	}
+
+	/**
+	 * Maze constructor with default dimensions and specified step recorder.
+	 * 
+	 * @param recorder recorder for generation steps
+	 */
+	public Maze(StepRecorder recorder) {
 		dimensions = DEFAULT_DIMENSIONS;
-		setValues(new int[dimensions][dimensions]);
-		steps = new ArrayList<int[][]>();
+		grid = new MazeGrid(dimensions);
+		this.recorder = recorder;
 	}
 
 	/**
@@ -116,116 +146,282 @@ public class Maze {
 	 * @param dimensions dimensions of square maze (5 to 20 inclusive)
 	 */
 	public Maze(int dimensions) {
+		this(dimensions, RecordingMode.SNAPSHOT.createRecorder());
+	}
+
+	/**
+	 * Maze constructor, which allows specified dimensions and step recorder.
+	 * Dimensions limited to between 5 and 20.
+	 * 
+	 * @param dimensions dimensions of square maze (5 to 20 inclusive)
+	 * @param recorder   recorder for generation steps
+	 */
+	public Maze(int dimensions, StepRecorder recorder) {
+		this(dimensions, MAX_DIMENSIONS, recorder);
+	}
+
+	/**
+	 * Maze constructor, which allows specified dimensions, max dimensions, and
+	 * step recorder. Used when max dimensions are configured above the default of
+	 * 20.
+	 * 
+	 * @param dimensions    dimensions of square maze (5 to maxDimensions
+	 *                      inclusive)
+	 * @param maxDimensions largest dimensions allowed (at most 1000)
+	 * @param recorder      recorder for generation steps
+	 */
+	public Maze(int dimensions, int maxDimensions, StepRecorder recorder) {
 		// validate input dimensions
-		if (dimensions < MIN_DIMENSIONS || dimensions > MAX_DIMENSIONS) {
-			throw new IllegalArgumentException("Dimensions must be between 5 and 20.");
+		if (!isValidDimensions(dimensions, maxDimensions)) {
+			throw new IllegalArgumentException("Dimensions must be between 5 and " + maxDimensions + ".");
 		}
 		this.dimensions = dimensions;
-		setValues(new int[dimensions][dimensions]);
-		steps = new ArrayList<int[][]>();
+		grid = new MazeGrid(dimensions);
+		this.recorder = recorder;
+	}
+
+	/**
+	 * Checks if dimensions are allowed for a maze.
+	 * 
+	 * @param dimensions dimensions of square maze
+	 * @return true if between 5 and 20 inclusive
+	 */
+	public static boolean isValidDimensions(int dimensions) {
+		return isValidDimensions(dimensions, MAX_DIMENSIONS);
+	}
+
+	/**
+	 * Checks if dimensions are allowed for a maze with configured max dimensions.
+	 * 
+	 * @param dimensions    dimensions of square maze
+	 * @param maxDimensions largest dimensions allowed (at most 1000)
+	 * @return true if between 5 and maxDimensions inclusive
+	 */
+	public static boolean isValidDimensions(int dimensions, int maxDimensions) {
+		if (maxDimensions < MIN_DIMENSIONS || maxDimensions > LIMIT_DIMENSIONS) {
+			throw new IllegalArgumentException("Max dimensions must be between 5 and " + LIMIT_DIMENSIONS + ".");
+		}
+		return dimensions >= MIN_DIMENSIONS && dimensions <= maxDimensions;
+	}
+
+	public MazeGrid getGrid() {
+		return grid;
+	}
+
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * Gets number of generation steps recorded so far.
+	 * 
+	 * @return number of steps, 0 if steps are not recorded
+	 */
+	public int getStepCount() {
+		return recorder.size();
 	}
 
+	/**
+	 * Builds 2d array form of maze. Used when sending maze to frontend.
+	 * 
+	 * @return 2d int array representing maze
+	 */
 	public int[][] getValues() {
-		return values;
+		return grid.toArray();
 	}
 
 	public void setValues(int[][] values) {
-		this.values = values;
+		this.grid = MazeGrid.fromArray(values);
+	}
+
+	/**
+	 * Seeds random source, so the same seed, dimensions, and generation type
+	 * always produce the same maze and steps.
+	 * 
+	 * @param seed seed for generation
+	 */
+	public void setSeed(long seed) {
+		r = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Sets smallest section area that recursive division splits across threads.
+	 * Only used when steps are not recorded. Does not change generated mazes.
+	 * 
+	 * @param parallelCutoff smallest area divided in parallel
+	 */
+	public void setParallelCutoff(int parallelCutoff) {
+		this.parallelCutoff = parallelCutoff;
 	}
 
+	/**
+	 * Builds 2d array form of each recorded generation step. Used when sending
+	 * steps to frontend.
+	 * 
+	 * @return list of steps for generation of maze
+	 */
 	public List<int[][]> getSteps() {
-		return steps;
+		return recorder.getSteps();
 	}
 
 	/**
 	 * Sets up first step, parameters, and target positions for recursive division
-	 * generation.
+	 * generation. Runs in parallel when steps are not recorded and maze area is at
+	 * least the parallel cutoff.
 	 */
 	public void recursiveDivisionGenerationStart() {
 		// add initial values to steps array
-		int[][] valuesCurrent = new int[dimensions][dimensions];
-		copyValues(valuesCurrent);
-		steps.add(valuesCurrent);
-
-		recursiveDivisionGeneration(0, dimensions - 1, 0, dimensions - 1);
+		recorder.record(grid);
+
+		boolean parallel = !recorder.isRecording() && dimensions * dimensions >= parallelCutoff;
+		DivisionTask root = new DivisionTask(0, dimensions - 1, 0, dimensions - 1, r.split(), parallel);
+		if (parallel) {
+			ForkJoinPool.commonPool().invoke(root);
+		} else {
+			root.compute();
+		}
 
-		values[0][0] = TARGET_POSITION;
-		values[values.length - 1][values.length - 1] = TARGET_POSITION;
+		grid.set(0, 0, TARGET_POSITION);
+		grid.set(dimensions - 1, dimensions - 1, TARGET_POSITION);
 	}
 
 	/**
-	 * Generates maze through repeatedly dividing open space.
-	 * 
-	 * @param xStart starting x value for subsection of maze to generate walls for
-	 * @param xEnd   ending x value for subsection of maze to generate walls for
-	 * @param yStart starting y value for subsection of maze to generate walls for
-	 * @param yEnd   ending y value for subsection of maze to generate walls for
-	 */
-	private void recursiveDivisionGeneration(final int xStart, final int xEnd, final int yStart, final int yEnd) {
-
-		// wall position, one space buffer for x and y values
-		int x = r.nextInt(xEnd - (xStart + 1)) + (xStart + 1);
-		int y = r.nextInt(yEnd - (yStart + 1)) + (yStart + 1);
-		// wall creation
-		for (int i = xStart; i <= xEnd; i++) {
-			values[i][y] = WALL;
-		}
-		for (int i = yStart; i <= yEnd; i++) {
-			values[x][i] = WALL;
-		}
+	 * Generates maze through repeatedly dividing open space. Each section only
+	 * writes inside itself and only reads walls placed before it started, so the
+	 * four sections made by a division can be generated at the same time. Each
+	 * section draws from its own random stream, split from its parent's in a fixed
+	 * order, so a seeded maze is the same whether sections run in parallel or not.
+	 */
+	private class DivisionTask extends RecursiveAction {
 
-		// create openings in walls
-		int exclude = r.nextInt(MAX_RAND) + 1;
+		private static final long serialVersionUID = 1L;
 
-		if (exclude != WEST_WALL_SECTION) {
-			int[] opening1 = { x, r.nextInt(y - yStart) + yStart };
-			values[opening1[0]][opening1[1]] = EMPTY;
-		}
-		if (exclude != EAST_WALL_SECTION) {
-			int[] opening2 = { x, r.nextInt((yEnd + 1) - (y + 1)) + (y + 1) };
-			values[opening2[0]][opening2[1]] = EMPTY;
-		}
-		if (exclude != NORTH_WALL_SECTION) {
-			int[] opening3 = { r.nextInt(x - xStart) + xStart, y };
-			values[opening3[0]][opening3[1]] = EMPTY;
-		}
-		if (exclude != SOUTH_WALL_SECTION) {
-			int[] opening4 = { r.nextInt((xEnd + 1) - (x + 1)) + (x + 1), y };
-			values[opening4[0]][opening4[1]] = EMPTY;
-		}
+		/**
+		 * Most sections made by one division.
+		 */
+		private static final int MAX_SECTIONS = 4;
 
-		// make sure walls don't make unsolvable
-		if (xStart > 0 && values[xStart - 1][y] == EMPTY) {
-			values[xStart][y] = EMPTY;
-		}
-		if (xEnd < values.length - 1 && values[xEnd + 1][y] == EMPTY) {
-			values[xEnd][y] = EMPTY;
-		}
-		if (yStart > 0 && values[x][yStart - 1] == EMPTY) {
-			values[x][yStart] = EMPTY;
-		}
-		if (yEnd < values.length - 1 && values[x][yEnd + 1] == EMPTY) {
-			values[x][yEnd] = EMPTY;
-		}
+		/**
+		 * Bounds of section to generate walls for.
+		 */
+		private final int xStart;
+		private final int xEnd;
+		private final int yStart;
+		private final int yEnd;
 
-		int[][] valuesCurrent = new int[dimensions][dimensions];
-		copyValues(valuesCurrent);
-		steps.add(valuesCurrent);
+		/**
+		 * Random stream for this section.
+		 */
+		private final SplittableRandom random;
 
-		// repeat on each new section unless too small (2 or less on either dimension)
-		if (!(x - xStart <= 2 || y - yStart <= 2)) {
-			recursiveDivisionGeneration(xStart, x - 1, yStart, y - 1);
-		}
-		if (!(xEnd - x <= 2 || y - yStart <= 2)) {
-			recursiveDivisionGeneration(x + 1, xEnd, yStart, y - 1);
-		}
-		if (!(x - xStart <= 2 || yEnd - y <= 2)) {
-			recursiveDivisionGeneration(xStart, x - 1, y + 1, yEnd);
+		/**
+		 * Whether large sections are forked and grid is written atomically.
+		 */
+		private final boolean parallel;
+
+		/**
+		 * Creates task for a section of maze.
+		 * 
+		 * @param xStart   starting x value for section
+		 * @param xEnd     ending x value for section
+		 * @param yStart   starting y value for section
+		 * @param yEnd     ending y value for section
+		 * @param random   random stream for section
+		 * @param parallel whether to fork large sections
+		 */
+		DivisionTask(int xStart, int xEnd, int yStart, int yEnd, SplittableRandom random, boolean parallel) {
+			this.xStart = xStart;
+			this.xEnd = xEnd;
+			this.yStart = yStart;
+			this.yEnd = yEnd;
+			this.random = random;
+			this.parallel = parallel;
 		}
-		if (!(xEnd - x <= 2 || yEnd - y <= 2)) {
-			recursiveDivisionGeneration(x + 1, xEnd, y + 1, yEnd);
+
+		@Override
+		protected void compute() {
+			// wall position, one space buffer for x and y values
+			int x = random.nextInt(xEnd - (xStart + 1)) + (xStart + 1);
+			int y = random.nextInt(yEnd - (yStart + 1)) + (yStart + 1);
+			// wall creation
+			for (int i = xStart; i <= xEnd; i++) {
+				set(i, y, WALL);
+			}
+			for (int i = yStart; i <= yEnd; i++) {
+				set(x, i, WALL);
+			}
+
+			// create openings in walls
+			int exclude = random.nextInt(MAX_RAND) + 1;
+
+			if (exclude != WEST_WALL_SECTION) {
+				set(x, random.nextInt(y - yStart) + yStart, EMPTY);
+			}
+			if (exclude != EAST_WALL_SECTION) {
+				set(x, random.nextInt((yEnd + 1) - (y + 1)) + (y + 1), EMPTY);
+			}
+			if (exclude != NORTH_WALL_SECTION) {
+				set(random.nextInt(x - xStart) + xStart, y, EMPTY);
+			}
+			if (exclude != SOUTH_WALL_SECTION) {
+				set(random.nextInt((xEnd + 1) - (x + 1)) + (x + 1), y, EMPTY);
+			}
+
+			// make sure walls don't make unsolvable
+			if (xStart > 0 && grid.get(xStart - 1, y) == EMPTY) {
+				set(xStart, y, EMPTY);
+			}
+			if (xEnd < dimensions - 1 && grid.get(xEnd + 1, y) == EMPTY) {
+				set(xEnd, y, EMPTY);
+			}
+			if (yStart > 0 && grid.get(x, yStart - 1) == EMPTY) {
+				set(x, yStart, EMPTY);
+			}
+			if (yEnd < dimensions - 1 && grid.get(x, yEnd + 1) == EMPTY) {
+				set(x, yEnd, EMPTY);
+			}
+
+			recorder.record(grid);
+
+			// repeat on each new section unless too small (2 or less on either dimension)
+			DivisionTask[] sections = new DivisionTask[MAX_SECTIONS];
+			int count = 0;
+			if (!(x - xStart <= 2 || y - yStart <= 2)) {
+				sections[count++] = new DivisionTask(xStart, x - 1, yStart, y - 1, random.split(), parallel);
+			}
+			if (!(xEnd - x <= 2 || y - yStart <= 2)) {
+				sections[count++] = new DivisionTask(x + 1, xEnd, yStart, y - 1, random.split(), parallel);
+			}
+			if (!(x - xStart <= 2 || yEnd - y <= 2)) {
+				sections[count++] = new DivisionTask(xStart, x - 1, y + 1, yEnd, random.split(), parallel);
+			}
+			if (!(xEnd - x <= 2 || yEnd - y <= 2)) {
+				sections[count++] = new DivisionTask(x + 1, xEnd, y + 1, yEnd, random.split(), parallel);
+			}
+
+			if (parallel && (xEnd - xStart + 1) * (yEnd - yStart + 1) >= parallelCutoff) {
+				invokeAll(Arrays.copyOf(sections, count));
+			} else {
+				for (int i = 0; i < count; i++) {
+					sections[i].compute();
+				}
+			}
 		}
 
+		/**
+		 * Helper method that sets maze value, atomically when running in parallel.
+		 * 
+		 * @param x     x value of position
+		 * @param y     y value of position
+		 * @param value value to set
+		 */
+		private void set(int x, int y, int value) {
+			if (parallel) {
+				grid.setConcurrent(x, y, value);
+			} else {
+				grid.set(x, y, value);
+			}
+		}
 	}
 
 	/**
@@ -240,414 +436,580 @@ public class Maze {
 		 * 2 - unvisited 1 - wall 0 - visited/empty
 		 */
 
-		int nextValue = UNVISITED_POSITION;
-		for (int i = 0; i < values.length; i++) {
-			for (int j = 0; j < values[0].length; j++) {
-
-				// every other loop gets all walls so unvisited stay surrounded
-				if (i % 2 == 0) {
-					values[j][i] = nextValue++;
-					if (nextValue > 2) {
-						nextValue = WALL;
-					}
+		int unvisitedCount = 0;
+		for (int i = 0; i < dimensions; i++) {
+			for (int j = 0; j < dimensions; j++) {
+				// unvisited on even positions so each stays surrounded by walls
+				if (i % 2 == 0 && j % 2 == 0) {
+					grid.set(i, j, UNVISITED_POSITION);
+					unvisitedCount++;
 				} else {
-					values[j][i] = WALL;
+					grid.set(i, j, WALL);
 				}
-
 			}
-
-			// start each loop through y at 2 so unvisited stay in line
-			nextValue = UNVISITED_POSITION;
 		}
 
 		// set starting spot to unvisited
 		if (dimensions % 2 == 0) {
-			values[dimensions - 1][dimensions - 1] = UNVISITED_POSITION;
-			values[dimensions - 2][dimensions - 1] = UNVISITED_POSITION;
+			grid.set(dimensions - 1, dimensions - 1, UNVISITED_POSITION);
+			grid.set(dimensions - 2, dimensions - 1, UNVISITED_POSITION);
+			unvisitedCount += 2;
 		}
 
 		// add initial values to steps array
-		int[][] valuesCurrent = new int[dimensions][dimensions];
-		copyValues(valuesCurrent);
-		steps.add(valuesCurrent);
+		recorder.record(grid);
 
-		int[] startingPosition = { r.nextInt((dimensions + 1) / 2) * 2, r.nextInt((dimensions + 1) / 2) * 2 };
-		dfsGeneration(startingPosition);
+		int startX = r.nextInt((dimensions + 1) / 2) * 2;
+		int startY = r.nextInt((dimensions + 1) / 2) * 2;
+		dfsGeneration(startX, startY, unvisitedCount);
 
-		values[0][0] = TARGET_POSITION;
-		values[values.length - 1][values.length - 1] = TARGET_POSITION;
+		grid.set(0, 0, TARGET_POSITION);
+		grid.set(dimensions - 1, dimensions - 1, TARGET_POSITION);
 	}
 
 	/**
 	 * Generates maze using DFS by clearing walls between visited positions. Uses
-	 * DFS + recursion.
+	 * DFS + an explicit stack of positions, so large mazes don't run out of thread
+	 * stack. Each stack entry keeps the directions it has not tried yet.
 	 * 
-	 * @param startPos position on maze to start at
+	 * @param startX         x value of position on maze to start at
+	 * @param startY         y value of position on maze to start at
+	 * @param unvisitedCount number of unvisited positions (max stack size)
 	 */
-	private void dfsGeneration(int[] startPos) {
-
-		List<Integer> dirOptions = new ArrayList<Integer>(Arrays.asList(DIR1, DIR2, DIR3, DIR4));
-
-		int[] newPos = null;
-
-		int direction;
-
-		// looks for unvisited spot until no directions are left
-		while (dirOptions.size() > 0) {
-			// pick a random direction
-			direction = dirOptions.get(r.nextInt(dirOptions.size()));
-
-			// reset newPos
-			newPos = startPos.clone();
+	private void dfsGeneration(int startX, int startY, int unvisitedCount) {
+
+		// positions stored as x * dimensions + y, with untried directions as bits
+		int[] stackPositions = new int[unvisitedCount];
+		byte[] stackOptions = new byte[unvisitedCount];
+		int top = 0;
+		stackPositions[top] = startX * dimensions + startY;
+		stackOptions[top] = ALL_DIRECTIONS;
+
+		// looks for unvisited spot until no directions are left for any position
+		while (top >= 0) {
+			int dirOptions = stackOptions[top];
+			if (dirOptions == 0) {
+				top--;
+				continue;
+			}
 
-			// find unvisited spot in random direction if exists; then remove from options
-			if (direction == DIR1) {
-				while (newPos[1] - 1 >= 0 && values[newPos[0]][newPos[1] - 1] != EMPTY
-						&& values[newPos[0]][--newPos[1]] != UNVISITED_POSITION) {
-					/*
-					 * north: decrements newPos[1] additionally: cannot go past end of array or go
-					 * back over visited/empty areas
-					 */
+			// pick a random direction, then remove from options
+			int direction = randomOption(dirOptions);
+			stackOptions[top] = (byte) (dirOptions & ~(1 << direction));
+
+			int x = stackPositions[top] / dimensions;
+			int y = stackPositions[top] % dimensions;
+			int dx = DIR_X[direction];
+			int dy = DIR_Y[direction];
+
+			// find unvisited spot in direction if exists; cannot go past end of grid or
+			// go back over visited/empty areas
+			int newX = x;
+			int newY = y;
+			while (newX + dx >= 0 && newX + dx < dimensions && newY + dy >= 0 && newY + dy < dimensions
+					&& grid.get(newX + dx, newY + dy) != EMPTY) {
+				newX += dx;
+				newY += dy;
+				if (grid.get(newX, newY) == UNVISITED_POSITION) {
+					break;
 				}
-				// set values from startPos to newPos equal to zero
-				if (values[newPos[0]][newPos[1]] == UNVISITED_POSITION) {
-					for (int i = startPos[1]; i >= newPos[1]; i--) {
-						values[newPos[0]][i] = EMPTY;
-					}
-					// check not at same spot, then search at new position
-					if (newPos[0] != startPos[0] || newPos[1] != startPos[1]) {
-						int[][] valuesCurrent = new int[dimensions][dimensions];
-						copyValues(valuesCurrent);
-						steps.add(valuesCurrent);
-						dfsGeneration(newPos);
-					}
-				}
-				// remove direction from options
-				for (int i = 0; i < dirOptions.size(); i++) {
-					if (dirOptions.get(i) == direction) {
-						dirOptions.remove(i);
-					}
-				}
-			} else if (direction == DIR2) {
-				while (newPos[0] + 1 < dimensions && values[newPos[0] + 1][newPos[1]] != EMPTY
-						&& values[++newPos[0]][newPos[1]] != UNVISITED_POSITION) {
-					// east: increments newPos[0]
-				}
-				// set values from startPos to newPos equal to zero
-				if (values[newPos[0]][newPos[1]] == UNVISITED_POSITION) {
-					for (int i = startPos[0]; i <= newPos[0]; i++) {
-						values[i][newPos[1]] = EMPTY;
-					}
-					// check not at same spot, then search at new position
-					if (newPos[0] != startPos[0] || newPos[1] != startPos[1]) {
-						int[][] valuesCurrent = new int[dimensions][dimensions];
-						copyValues(valuesCurrent);
-						steps.add(valuesCurrent);
-						dfsGeneration(newPos);
-					}
-				}
-				// remove direction from options
-				for (int i = 0; i < dirOptions.size(); i++) {
-					if (dirOptions.get(i) == direction) {
-						dirOptions.remove(i);
-					}
-				}
-			} else if (direction == DIR3) {
-				while (newPos[1] + 1 < dimensions && values[newPos[0]][newPos[1] + 1] != EMPTY
-						&& values[newPos[0]][++newPos[1]] != UNVISITED_POSITION) {
-					// south: increments newPos[1]
-				}
-				// set values from startPos to newPos equal to zero
-				if (values[newPos[0]][newPos[1]] == UNVISITED_POSITION) {
-					for (int i = startPos[1]; i <= newPos[1]; i++) {
-						values[newPos[0]][i] = EMPTY;
-					}
-					// check not at same spot, then search at new position
-					if (newPos[0] != startPos[0] || newPos[1] != startPos[1]) {
-						int[][] valuesCurrent = new int[dimensions][dimensions];
-						copyValues(valuesCurrent);
-						steps.add(valuesCurrent);
-						dfsGeneration(newPos);
-					}
-				}
-				// remove direction from options
-				for (int i = 0; i < dirOptions.size(); i++) {
-					if (dirOptions.get(i) == direction) {
-						dirOptions.remove(i);
-					}
-				}
-			} else if (direction == DIR4) {
-				while (newPos[0] - 1 >= 0 && values[newPos[0] - 1][newPos[1]] != EMPTY
-						&& values[--newPos[0]][newPos[1]] != UNVISITED_POSITION) {
-					// west: decrements newPos[0]
-				}
-				// set values from startPos to newPos equal to zero
-				if (values[newPos[0]][newPos[1]] == UNVISITED_POSITION) {
-					for (int i = startPos[0]; i >= newPos[0]; i--) {
-						values[i][newPos[1]] = EMPTY;
-					}
-					// check not at same spot, then search at new position
-					if (newPos[0] != startPos[0] || newPos[1] != startPos[1]) {
-						int[][] valuesCurrent = new int[dimensions][dimensions];
-						copyValues(valuesCurrent);
-						steps.add(valuesCurrent);
-						dfsGeneration(newPos);
-					}
+			}
+
+			// set values from position to newPos equal to zero
+			if (grid.get(newX, newY) == UNVISITED_POSITION) {
+				for (int i = x, j = y; i != newX + dx || j != newY + dy; i += dx, j += dy) {
+					grid.set(i, j, EMPTY);
 				}
-				// remove direction from options
-				for (int i = 0; i < dirOptions.size(); i++) {
-					if (dirOptions.get(i) == direction) {
-						dirOptions.remove(i);
-					}
+				// check not at same spot, then search at new position
+				if (newX != x || newY != y) {
+					recorder.record(grid);
+					top++;
+					stackPositions[top] = newX * dimensions + newY;
+					stackOptions[top] = ALL_DIRECTIONS;
 				}
 			}
 		}
 
 	}
 
+	/**
+	 * Helper function that picks one set bit of options at random.
+	 * 
+	 * @param options bit mask of available options
+	 * @return position of chosen bit
+	 */
+	private int randomOption(int options) {
+		int choice = r.nextInt(Integer.bitCount(options));
+		int remaining = options;
+		for (int i = 0; i < choice; i++) {
+			remaining &= remaining - 1;
+		}
+		return Integer.numberOfTrailingZeros(remaining);
+	}
+
+	/**
+	 * Starting point for automata generation with rulestring B3S12345. Sets
+	 * random-ish initial values, target positions, and ensures solvable.
+	 */
+	public void automataGenerationStart() {
+		automataGenerationStart(AutomataEngine.DEFAULT_RULESTRING);
+	}
+
 	/**
 	 * Starting point for automata generation. Sets random-ish initial values,
 	 * target positions, and ensures solvable.
+	 * 
+	 * @param rulestring rulestring for automata, such as B3/S12345 (counts include
+	 *                   the position itself)
 	 */
-	public void automataGenerationStart() {
+	public void automataGenerationStart(String rulestring) {
+		AutomataEngine engine = new AutomataEngine(dimensions, rulestring);
 
 		// randomly set each position to one or zero
-		for (int i = 0; i < values.length; i++) {
-			for (int j = 0; j < values[0].length; j++) {
-				values[i][j] = r.nextInt(2);
+		for (int i = 0; i < dimensions; i++) {
+			for (int j = 0; j < dimensions; j++) {
+				grid.set(i, j, r.nextInt(2));
 			}
 		}
+		engine.load(grid);
 
-		// call recursive function
-		automataGeneration();
+		// run automata until a generation repeats
+		automataGeneration(engine, rulestring);
+		engine.store(grid);
 
 		// set goals to target position
-		values[0][0] = TARGET_POSITION;
-		values[values.length - 1][values.length - 1] = TARGET_POSITION;
+		grid.set(0, 0, TARGET_POSITION);
+		grid.set(dimensions - 1, dimensions - 1, TARGET_POSITION);
 
 		// update steps - adds automata maze with target positions
-		int[][] valuesCurrent = new int[dimensions][dimensions];
-		copyValues(valuesCurrent);
-		steps.add(valuesCurrent);
+		recorder.record(grid);
 
 		// ensures maze can be solved
 		ensureSolvable();
 
 		// update steps - adds completed maze without selected positions
-		valuesCurrent = new int[dimensions][dimensions];
-		copyValues(valuesCurrent);
-		steps.add(valuesCurrent);
+		recorder.record(grid);
 	}
 
 	/**
-	 * Generates a maze recursively by running a cellular automata with rulestring
-	 * B3S12345. Ends on repeated values to cover static values and oscillation.
+	 * Generates a maze by running a cellular automata. Ends on repeated values to
+	 * cover static values and oscillation. Repeats are found by comparing 64 bit
+	 * fingerprints of each generation: a set of all fingerprints when steps are
+	 * recorded, or Brent's cycle detection (constant memory) when they are not.
+	 * Both stop on the first generation of the cycle, so the maze is the same
+	 * whether or not steps are recorded.
+	 * 
+	 * @param engine     automata engine loaded with starting values, which are
+	 *                   also still in grid
+	 * @param rulestring rulestring engine was created with
 	 */
-	private void automataGeneration() {
-
-		// update steps
-		int[][] valuesCurrent = new int[dimensions][dimensions];
-		copyValues(valuesCurrent);
-		steps.add(valuesCurrent);
-
-		// temporary array to store updated values discretely
-		int[][] tempArray = new int[dimensions][dimensions];
-
-		for (int i = 0; i < values.length; i++) {
-			for (int j = 0; j < values[0].length; j++) {
-				// check nearest eight cells' state
-				int liveCellCount = 0;
-				for (int x = -1; x < 2; x++) {
-					for (int y = -1; y < 2; y++) {
-						// bound edges instead of wrapping
-						if (i + x >= 0 && j + y >= 0 && i + x < values.length && j + y < values[0].length
-								&& values[i + x][j + y] == 1) {
-							liveCellCount++;
-						}
-					}
+	private void automataGeneration(AutomataEngine engine, String rulestring) {
+		long current = engine.getFingerprint();
+
+		if (recorder.isRecording()) {
+			LongHashSet history = new LongHashSet();
+			history.add(current);
+			recorder.record(grid);
+			while (true) {
+				current = engine.step();
+				// base case: history contains current maze
+				if (!history.add(current)) {
+					break;
 				}
-				// set live cells, default for remaining is zero
-				if (BORN.contains(liveCellCount)) {
-					tempArray[i][j] = 1;
-				} else if (SURVIVE.contains(liveCellCount) && values[i][j] == 1) {
-					tempArray[i][j] = 1;
+				// grid only needs updating when steps are recorded
+				engine.store(grid);
+				recorder.record(grid);
+			}
+		} else {
+			// Brent's: compare against a saved generation, moved forward at powers of two
+			long saved = current;
+			int power = 1;
+			int cycleLength = 1;
+			current = engine.step();
+			while (current != saved) {
+				if (power == cycleLength) {
+					saved = current;
+					power *= 2;
+					cycleLength = 0;
 				}
+				current = engine.step();
+				cycleLength++;
 			}
-		}
 
-		// update values
-		for (int i = 0; i < values.length; i++) {
-			for (int j = 0; j < values[0].length; j++) {
-				values[i][j] = tempArray[i][j];
+			// second phase: restart from starting values (still in grid) with a
+			// second engine one cycle ahead, they first match at start of cycle
+			engine.load(grid);
+			AutomataEngine ahead = new AutomataEngine(dimensions, rulestring);
+			ahead.load(grid);
+			long aheadFingerprint = ahead.getFingerprint();
+			for (int i = 0; i < cycleLength; i++) {
+				aheadFingerprint = ahead.step();
+			}
+			current = engine.getFingerprint();
+			while (current != aheadFingerprint) {
+				current = engine.step();
+				aheadFingerprint = ahead.step();
 			}
-		}
-
-		// base case: steps contains current maze
-		if (!stepsContains(values)) {
-			automataGeneration();
 		}
 	}
 
-	// TODO: javadoc & generate
-	public void binaryTreeGeneration() {
+	/**
+	 * Generates maze with randomized Kruskal's algorithm. Every wall between
+	 * neighbouring rooms (even positions) is listed in a shuffled int array, then
+	 * each is opened if it joins two rooms not yet connected. Connections are
+	 * tracked with a disjoint-set, so cost is close to linear in maze size and all
+	 * memory is allocated up front.
+	 */
+	public void kruskalGeneration() {
+		int rooms = (dimensions + 1) / 2;
+		setUpRooms(EMPTY);
+		// add initial values to steps array
+		recorder.record(grid);
+
+		// wall between rooms stored as room * 2, plus 1 if it leads to y + 1
+		// instead of x + 1
+		int[] walls = new int[2 * rooms * (rooms - 1)];
+		int count = 0;
+		for (int room = 0; room < rooms * rooms; room++) {
+			if (room / rooms < rooms - 1) {
+				walls[count++] = room * 2;
+			}
+			if (room % rooms < rooms - 1) {
+				walls[count++] = room * 2 + 1;
+			}
+		}
+		for (int i = count - 1; i > 0; i--) {
+			int j = r.nextInt(i + 1);
+			int temp = walls[i];
+			walls[i] = walls[j];
+			walls[j] = temp;
+		}
 
-		// TODO: north or west for each position in grid
+		DisjointSet sets = new DisjointSet(rooms * rooms);
+		// a maze of n rooms is finished after n - 1 openings
+		int openings = 0;
+		for (int i = 0; i < count && openings < rooms * rooms - 1; i++) {
+			int room = walls[i] >>> 1;
+			boolean alongY = (walls[i] & 1) == 1;
+			if (sets.union(room, alongY ? room + 1 : room + rooms)) {
+				int x = room / rooms * 2;
+				int y = room % rooms * 2;
+				grid.set(alongY ? x : x + 1, alongY ? y + 1 : y, EMPTY);
+				openings++;
+				recorder.record(grid);
+			}
+		}
 
+		finishRooms();
 	}
 
 	/**
-	 * Checks whether attempt is correct or not. Uses DFS + Stack.
-	 *
-	 * @param attempt int array with information about solution.
-	 * @return returns true if correct
+	 * Generates maze with Wilson's algorithm, which picks evenly among all
+	 * possible perfect mazes. Starting from one random room, each room not yet in
+	 * the maze starts a random walk that ends when it reaches the maze. Only the
+	 * last exit taken from each room is kept, which erases any loops, and the
+	 * resulting path is added to the maze.
 	 */
-	public boolean checkSolution(int[][] attempt) {
-		Stack<int[]> dfsStack = new Stack<int[]>();
-		int[] start = { 0, 0 };
-		dfsStack.push(start);
-
-		while (!dfsStack.isEmpty()) {
-			int[] currentPos = dfsStack.pop();
-			if (attempt[currentPos[0]][currentPos[1]] == TARGET_POSITION
-					&& (currentPos[0] != start[0] || currentPos[1] != start[1])) {
-				return true;
+	public void wilsonGeneration() {
+		int rooms = (dimensions + 1) / 2;
+		int roomCount = rooms * rooms;
+		setUpRooms(UNVISITED_POSITION);
+		// add initial values to steps array
+		recorder.record(grid);
+
+		boolean[] inMaze = new boolean[roomCount];
+		// last direction taken from each room during a walk
+		byte[] exits = new byte[roomCount];
+		int first = r.nextInt(roomCount);
+		inMaze[first] = true;
+		grid.set(first / rooms * 2, first % rooms * 2, EMPTY);
+
+		for (int start = 0; start < roomCount; start++) {
+			if (inMaze[start]) {
+				continue;
 			}
-			// mark position as visited
-			attempt[currentPos[0]][currentPos[1]] = -1;
-
-			if (currentPos[0] - 1 >= 0 && (attempt[currentPos[0] - 1][currentPos[1]] == SELECTED_POSITION
-					|| attempt[currentPos[0] - 1][currentPos[1]] == TARGET_POSITION)) {
-				int[] newPos = { currentPos[0] - 1, currentPos[1] };
-				dfsStack.push(newPos);
+			int room = start;
+			while (!inMaze[room]) {
+				int direction = randomOption(roomDirections(room, rooms));
+				exits[room] = (byte) direction;
+				room += DIR_X[direction] * rooms + DIR_Y[direction];
 			}
-
-			if (currentPos[1] - 1 >= 0 && (attempt[currentPos[0]][currentPos[1] - 1] == SELECTED_POSITION
-					|| attempt[currentPos[0]][currentPos[1] - 1] == TARGET_POSITION)) {
-				int[] newPos = { currentPos[0], currentPos[1] - 1 };
-				dfsStack.push(newPos);
+			// add loop-erased walk to maze
+			room = start;
+			while (!inMaze[room]) {
+				inMaze[room] = true;
+				int direction = exits[room];
+				int x = room / rooms * 2;
+				int y = room % rooms * 2;
+				grid.set(x, y, EMPTY);
+				grid.set(x + DIR_X[direction], y + DIR_Y[direction], EMPTY);
+				room += DIR_X[direction] * rooms + DIR_Y[direction];
 			}
+			recorder.record(grid);
+		}
 
-			if (currentPos[0] + 1 < dimensions && (attempt[currentPos[0] + 1][currentPos[1]] == SELECTED_POSITION
-					|| attempt[currentPos[0] + 1][currentPos[1]] == TARGET_POSITION)) {
-				int[] newPos = { currentPos[0] + 1, currentPos[1] };
-				dfsStack.push(newPos);
-			}
+		finishRooms();
+	}
 
-			if (currentPos[1] + 1 < dimensions && (attempt[currentPos[0]][currentPos[1] + 1] == SELECTED_POSITION
-					|| attempt[currentPos[0]][currentPos[1] + 1] == TARGET_POSITION)) {
-				int[] newPos = { currentPos[0], currentPos[1] + 1 };
-				dfsStack.push(newPos);
+	/**
+	 * Helper method that sets rooms (even positions) to a value and everything
+	 * else to walls.
+	 * 
+	 * @param roomValue value for rooms
+	 */
+	private void setUpRooms(int roomValue) {
+		grid.fill(WALL);
+		for (int i = 0; i < dimensions; i += 2) {
+			for (int j = 0; j < dimensions; j += 2) {
+				grid.set(i, j, roomValue);
 			}
 		}
-
-		return false;
 	}
 
-	public static void main(String[] args) {
-
-		// testing area
-
+	/**
+	 * Helper method that opens the extra row and column left by even dimensions
+	 * next to the last position, like dfs generation, and sets targets.
+	 */
+	private void finishRooms() {
+		if (dimensions % 2 == 0) {
+			grid.set(dimensions - 2, dimensions - 1, EMPTY);
+			grid.set(dimensions - 1, dimensions - 1, EMPTY);
+		}
+		grid.set(0, 0, TARGET_POSITION);
+		grid.set(dimensions - 1, dimensions - 1, TARGET_POSITION);
 	}
 
 	/**
-	 * Helper function used when adding maze steps. Copies maze values to dest
-	 * array.
+	 * Helper method giving directions a room can move in without leaving maze.
 	 * 
-	 * @param dest destination array
+	 * @param room  room index (row of rooms * rooms + column of rooms)
+	 * @param rooms number of rooms in each row
+	 * @return bit mask of directions
 	 */
-	private void copyValues(int[][] dest) {
-		for (int i = 0; i < values.length; i++) {
-			for (int j = 0; j < values[0].length; j++) {
-				dest[j][i] = values[j][i];
+	private int roomDirections(int room, int rooms) {
+		int i = room / rooms;
+		int j = room % rooms;
+		int directions = ALL_DIRECTIONS;
+		for (int direction = 0; direction < DIR_X.length; direction++) {
+			int newI = i + DIR_X[direction];
+			int newJ = j + DIR_Y[direction];
+			if (newI < 0 || newJ < 0 || newI >= rooms || newJ >= rooms) {
+				directions &= ~(1 << direction);
 			}
 		}
+		return directions;
+	}
+
+	/**
+	 * Generates maze with the binary tree algorithm, opening each position north
+	 * or west. Single pass over rows with no stack or visited set.
+	 */
+	public void binaryTreeGeneration() {
+		rowGeneration(new BinaryTreeRowGenerator(r.split()));
+	}
+
+	/**
+	 * Generates maze with Eller's algorithm, keeping only the sets of the current
+	 * row.
+	 */
+	public void ellerGeneration() {
+		rowGeneration(new EllerRowGenerator(r.split()));
 	}
 
 	/**
-	 * Helper function used to check if steps contains a set of values.
+	 * Generates maze with the sidewinder algorithm, joining runs of positions
+	 * along each row and opening one position of each run upwards. Single pass
+	 * over rows with no stack or visited set.
+	 */
+	public void sidewinderGeneration() {
+		rowGeneration(new SidewinderRowGenerator(r.split()));
+	}
+
+	/**
+	 * Helper method that fills maze from a row generator, recording a step after
+	 * each row.
 	 * 
-	 * @param val values potentially contained in steps.
-	 * @return t/f values exist in steps
+	 * @param generator generator for rows of maze
 	 */
-	private boolean stepsContains(int[][] val) {
-		boolean output = false;
-		for (int x = 0; x < steps.size(); x++) {
-			if (Arrays.deepToString(steps.get(x)).equals(Arrays.deepToString(val))) {
-				output = true;
-				break;
+	private void rowGeneration(RowGenerator generator) {
+		grid.fill(WALL);
+		// add initial values to steps array
+		recorder.record(grid);
+
+		int[] rowIndex = { 0 };
+		generator.generate(dimensions, dimensions, row -> {
+			for (int j = 0; j < dimensions; j++) {
+				grid.set(rowIndex[0], j, row[j]);
 			}
-		}
-		return output;
+			rowIndex[0]++;
+			recorder.record(grid);
+		});
 	}
 
 	/**
-	 * Helper method that ensures maze is solvable. Randomly connects two sections
-	 * of maze until solvable.
+	 * Checks whether attempt is correct or not. Uses DFS with a reused checker for
+	 * the current thread, and leaves attempt unchanged.
+	 *
+	 * @param attempt int array with information about solution.
+	 * @return returns true if correct
 	 */
-	private void ensureSolvable() {
+	public boolean checkSolution(int[][] attempt) {
+		return SolutionChecker.forCurrentThread().check(attempt);
+	}
+
+	public static void main(String[] args) {
+
+		// testing area
 
-		Map<Integer, int[]> hmSelected = new HashMap<Integer, int[]>();
-		Map<Integer, int[]> hmTarget = new HashMap<Integer, int[]>();
-
-		// set empty positions to selected for check solution method; also add selected
-		// and target positions to separate hash maps
-		for (int i = 0; i < values.length; i++) {
-			for (int j = 0; j < values.length; j++) {
-				if (values[i][j] == EMPTY) {
-					values[i][j] = SELECTED_POSITION;
-					int[] hmValue = { i, j };
-					hmSelected.put(hmSelected.size(), hmValue);
-				} else if (values[i][j] == TARGET_POSITION) {
-					int[] hmValue = { i, j };
-					hmTarget.put(hmTarget.size(), hmValue);
+	}
+
+	/**
+	 * Helper method that ensures maze is solvable. Open positions are grouped into
+	 * sections with a disjoint-set forest in one pass. If the targets are in
+	 * different sections, a 0-1 BFS (clearing a wall costs one, open positions are
+	 * free) finds the path from the start's section to the target's section that
+	 * clears the fewest walls. Walls on that path are then cleared one corridor at
+	 * a time, adding a step each time a corridor connects two sections.
+	 */
+	private void ensureSolvable() {
+		int cellCount = dimensions * dimensions;
+		int start = 0;
+		int target = cellCount - 1;
+		DisjointSet sections = new DisjointSet(cellCount);
+
+		// set empty positions to selected, and join open positions with open
+		// positions above and to the left
+		for (int i = 0; i < dimensions; i++) {
+			for (int j = 0; j < dimensions; j++) {
+				int index = i * dimensions + j;
+				if (grid.get(index) == EMPTY) {
+					grid.set(index, SELECTED_POSITION);
+				}
+				if (isOpen(index)) {
+					if (i > 0 && isOpen(index - dimensions)) {
+						sections.union(index, index - dimensions);
+					}
+					if (j > 0 && isOpen(index - 1)) {
+						sections.union(index, index - 1);
+					}
 				}
 			}
 		}
 
-		// temporary values array for checkSolution() to modify
-		int[][] valuesTemp = new int[dimensions][dimensions];
-		copyValues(valuesTemp);
-
-		// repeat until solvable
-		while (!checkSolution(valuesTemp)) {
-			// choose random selected position in hash map
-			int hmKeyRandom = r.nextInt(hmSelected.size());
-			int[] pos = hmSelected.get(hmKeyRandom);
-			// choose random target position in hash map
-			hmKeyRandom = r.nextInt(hmTarget.size());
-			int[] pos2 = hmTarget.get(hmKeyRandom);
-
-			// sets right or left for each axis based on positions
-			int dir[] = { pos[0] - pos2[0] != 0 ? (pos[0] - pos2[0]) / Math.abs(pos[0] - pos2[0]) : 0,
-					pos[1] - pos2[1] != 0 ? (pos[1] - pos2[1]) / Math.abs(pos[1] - pos2[1]) : 0 };
-
-			// clear walls between positions
-			while (pos[0] != pos2[0] && pos[1] != pos2[1]) {
-				if (Math.abs(pos[0] - pos2[0]) > Math.abs(pos[1] - pos2[1])) {
-					pos2[0] += dir[0];
-				} else {
-					pos2[1] += dir[1];
+		if (!sections.connected(start, target)) {
+			// direction each position was reached from, to walk the path back
+			byte[] reachedFrom = new byte[cellCount];
+			int end = cheapestPath(sections, start, target, reachedFrom);
+
+			// clear walls from the target's section back to the start's section
+			int index = end;
+			boolean clearing = false;
+			while (!sections.connected(index, start)) {
+				if (!isOpen(index)) {
+					grid.set(index, SELECTED_POSITION);
+					joinOpenNeighbors(sections, index);
+					clearing = true;
+				} else if (clearing) {
+					// corridor finished, connecting two sections
+					recorder.record(grid);
+					clearing = false;
 				}
-				values[pos2[0]][pos2[1]] = SELECTED_POSITION;
+				int direction = reachedFrom[index];
+				index -= DIR_X[direction] * dimensions + DIR_Y[direction];
 			}
-
-			// reset temp values
-			copyValues(valuesTemp);
-
-			// add values to steps
-			int[][] valuesCurrent = new int[dimensions][dimensions];
-			copyValues(valuesCurrent);
-			steps.add(valuesCurrent);
+			recorder.record(grid);
 		}
 
 		// set selected positions back to empty
-		for (int i = 0; i < values.length; i++) {
-			for (int j = 0; j < values.length; j++) {
-				if (values[i][j] == SELECTED_POSITION) {
-					values[i][j] = EMPTY;
+		for (int i = 0; i < cellCount; i++) {
+			if (grid.get(i) == SELECTED_POSITION) {
+				grid.set(i, EMPTY);
+			}
+		}
+	}
+
+	/**
+	 * Helper method that runs a 0-1 BFS from the start position until reaching the
+	 * target's section. Moving onto an open position costs nothing and onto a wall
+	 * costs one, so open positions go to the front of the deque and walls to the
+	 * back. Each position is added at most once.
+	 * 
+	 * @param sections    sections of open positions
+	 * @param start       index of start position
+	 * @param target      index of target position
+	 * @param reachedFrom filled with the direction each position was reached from
+	 * @return index of first position reached in the target's section
+	 */
+	private int cheapestPath(DisjointSet sections, int start, int target, byte[] reachedFrom) {
+		int cellCount = dimensions * dimensions;
+		long[] added = new long[(cellCount + Long.SIZE - 1) / Long.SIZE];
+		int[] deque = new int[cellCount];
+		int head = 0;
+		int size = 1;
+		deque[0] = start;
+		added[start / Long.SIZE] |= 1L << start;
+		int targetSection = sections.find(target);
+
+		while (size > 0) {
+			int index = deque[head];
+			head = (head + 1) % cellCount;
+			size--;
+			if (sections.find(index) == targetSection) {
+				return index;
+			}
+			int x = index / dimensions;
+			int y = index % dimensions;
+			for (int direction = 0; direction < DIR_X.length; direction++) {
+				int newX = x + DIR_X[direction];
+				int newY = y + DIR_Y[direction];
+				int newIndex = newX * dimensions + newY;
+				if (newX < 0 || newY < 0 || newX >= dimensions || newY >= dimensions
+						|| (added[newIndex / Long.SIZE] & (1L << newIndex)) != 0) {
+					continue;
+				}
+				added[newIndex / Long.SIZE] |= 1L << newIndex;
+				reachedFrom[newIndex] = (byte) direction;
+				if (isOpen(newIndex)) {
+					head = (head - 1 + cellCount) % cellCount;
+					deque[head] = newIndex;
+				} else {
+					deque[(head + size) % cellCount] = newIndex;
 				}
+				size++;
+			}
+		}
+		return target;
+	}
+
+	/**
+	 * Helper method that joins a cleared position with open positions next to it.
+	 * 
+	 * @param sections sections of open positions
+	 * @param index    index of cleared position
+	 */
+	private void joinOpenNeighbors(DisjointSet sections, int index) {
+		int x = index / dimensions;
+		int y = index % dimensions;
+		for (int direction = 0; direction < DIR_X.length; direction++) {
+			int newX = x + DIR_X[direction];
+			int newY = y + DIR_Y[direction];
+			if (newX >= 0 && newY >= 0 && newX < dimensions && newY < dimensions
+					&& isOpen(newX * dimensions + newY)) {
+				sections.union(index, newX * dimensions + newY);
 			}
 		}
 	}
 
+	/**
+	 * Helper function used while ensuring solvable. Checks if position can be
+	 * moved through.
+	 * 
+	 * @param index position index (x * dimensions + y)
+	 * @return true if selected or target position
+	 */
+	private boolean isOpen(int index) {
+		int value = grid.get(index);
+		return value == SELECTED_POSITION || value == TARGET_POSITION;
+	}
+
 }
@@ -0,0 +1,268 @@
+package isaiah.maze_website.models;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compact square grid used to store maze values. Cells are stored row-major in
+ * a flat long array and packed into four bits each, so a full grid takes an
+ * eighth of the memory of an int[][] and copies with a single arraycopy.
+ *
+ * @author Isaiah
+ *
+ */
+public class MazeGrid {
+
+	/**
+	 * Bits used to store each cell. Large enough for every maze value (0 to 4).
+	 */
+	private static final int BITS_PER_CELL = 4;
+
+	/**
+	 * Shift converting a cell index into a word index (16 cells per word).
+	 */
+	private static final int CELLS_PER_WORD_SHIFT = 4;
+
+	/**
+	 * Mask for the position of a cell inside its word.
+	 */
+	private static final int CELL_IN_WORD_MASK = (1 << CELLS_PER_WORD_SHIFT) - 1;
+
+	/**
+	 * Mask for a single cell's value.
+	 */
+	private static final long CELL_MASK = (1L << BITS_PER_CELL) - 1;
+
+	/**
+	 * Largest value that can be stored in a cell.
+	 */
+	private static final int MAX_VALUE = (int) CELL_MASK;
+
+	/**
+	 * Handle for atomic updates of packed words.
+	 */
+	private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+	/**
+	 * Width and height of the grid.
+	 */
+	private final int dimensions;
+
+	/**
+	 * Packed cell values, row-major.
+	 */
+	private final long[] words;
+
+	/**
+	 * Creates grid with every cell set to zero.
+	 *
+	 * @param dimensions width and height of grid
+	 */
+	public MazeGrid(int dimensions) {
+		this.dimensions = dimensions;
+		this.words = new long[(dimensions * dimensions + CELL_IN_WORD_MASK) >>> CELLS_PER_WORD_SHIFT];
+	}
+
+	/**
+	 * Creates grid holding the same values as a 2d array. Values are checked here,
+	 * since set does not check them.
+	 *
+	 * @param values square 2d array of maze values
+	 * @return grid with copied values
+	 * @throws IllegalArgumentException if a value does not fit in a cell
+	 */
+	public static MazeGrid fromArray(int[][] values) {
+		MazeGrid grid = new MazeGrid(values.length);
+		for (int i = 0; i < values.length; i++) {
+			for (int j = 0; j < values.length; j++) {
+				int value = values[i][j];
+				if (value < 0 || value > MAX_VALUE) {
+					throw new IllegalArgumentException("Grid values must be between 0 and " + MAX_VALUE + ".");
+				}
+				grid.set(i, j, value);
+			}
+		}
+		return grid;
+	}
+
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * Gets approximate memory used by grid values.
+	 *
+	 * @return size in bytes
+	 */
+	public long sizeInBytes() {
+		return (long) words.length * Long.BYTES;
+	}
+
+	/**
+	 * Gets value at position.
+	 *
+	 * @param x first index (row)
+	 * @param y second index (column)
+	 * @return value at position
+	 */
+	public int get(int x, int y) {
+		return get(x * dimensions + y);
+	}
+
+	/**
+	 * Sets value at position.
+	 *
+	 * @param x     first index (row)
+	 * @param y     second index (column)
+	 * @param value value to store (0 to 15), not checked
+	 */
+	public void set(int x, int y, int value) {
+		set(x * dimensions + y, value);
+	}
+
+	/**
+	 * Gets value at row-major cell index.
+	 *
+	 * @param index cell index (x * dimensions + y)
+	 * @return value at index
+	 */
+	public int get(int index) {
+		int shift = (index & CELL_IN_WORD_MASK) * BITS_PER_CELL;
+		return (int) ((words[index >>> CELLS_PER_WORD_SHIFT] >>> shift) & CELL_MASK);
+	}
+
+	/**
+	 * Sets value at row-major cell index.
+	 *
+	 * @param index cell index (x * dimensions + y)
+	 * @param value value to store (0 to 15), not checked
+	 */
+	public void set(int index, int value) {
+		// checked in fromArray and decoders, internal callers only write maze values
+		assert value >= 0 && value <= MAX_VALUE;
+		int shift = (index & CELL_IN_WORD_MASK) * BITS_PER_CELL;
+		int word = index >>> CELLS_PER_WORD_SHIFT;
+		words[word] = (words[word] & ~(CELL_MASK << shift)) | ((long) value << shift);
+	}
+
+	/**
+	 * Sets value at position atomically. Neighbouring cells share a word, so this
+	 * must be used instead of set when several threads write to the same grid,
+	 * even if they write different cells.
+	 *
+	 * @param x     first index (row)
+	 * @param y     second index (column)
+	 * @param value value to store (0 to 15)
+	 */
+	public void setConcurrent(int x, int y, int value) {
+		assert value >= 0 && value <= MAX_VALUE;
+		int index = x * dimensions + y;
+		int shift = (index & CELL_IN_WORD_MASK) * BITS_PER_CELL;
+		int word = index >>> CELLS_PER_WORD_SHIFT;
+		long current;
+		do {
+			current = (long) WORDS.getVolatile(words, word);
+		} while (!WORDS.compareAndSet(words, word, current,
+				(current & ~(CELL_MASK << shift)) | ((long) value << shift)));
+	}
+
+	/**
+	 * Sets every cell in grid to value.
+	 *
+	 * @param value value to store (0 to 15)
+	 */
+	public void fill(int value) {
+		long word = 0;
+		for (int i = 0; i <= CELL_IN_WORD_MASK; i++) {
+			word |= ((long) value & CELL_MASK) << (i * BITS_PER_CELL);
+		}
+		Arrays.fill(words, word);
+		// keep unused bits past the last cell cleared so equals stays reliable
+		int used = (dimensions * dimensions) & CELL_IN_WORD_MASK;
+		if (used != 0) {
+			words[words.length - 1] &= (1L << (used * BITS_PER_CELL)) - 1;
+		}
+	}
+
+	/**
+	 * Copies all values from another grid of the same dimensions.
+	 *
+	 * @param source grid to copy from
+	 */
+	public void copyFrom(MazeGrid source) {
+		if (source.dimensions != dimensions) {
+			throw new IllegalArgumentException("Grid dimensions must match.");
+		}
+		System.arraycopy(source.words, 0, words, 0, words.length);
+	}
+
+	/**
+	 * Creates copy of grid.
+	 *
+	 * @return new grid with the same values
+	 */
+	public MazeGrid copy() {
+		MazeGrid copy = new MazeGrid(dimensions);
+		copy.copyFrom(this);
+		return copy;
+	}
+
+	/**
+	 * Calls action with the index of every cell whose value differs from another
+	 * grid of the same dimensions. Whole words are compared at once, so unchanged
+	 * areas are skipped quickly.
+	 *
+	 * @param other  grid to compare with
+	 * @param action called with each differing cell index
+	 */
+	public void forEachDifference(MazeGrid other, IntConsumer action) {
+		if (other.dimensions != dimensions) {
+			throw new IllegalArgumentException("Grid dimensions must match.");
+		}
+		for (int word = 0; word < words.length; word++) {
+			long changed = words[word] ^ other.words[word];
+			while (changed != 0) {
+				int cell = Long.numberOfTrailingZeros(changed) / BITS_PER_CELL;
+				action.accept((word << CELLS_PER_WORD_SHIFT) + cell);
+				changed &= ~(CELL_MASK << (cell * BITS_PER_CELL));
+			}
+		}
+	}
+
+	/**
+	 * Builds 2d array form of grid. Only needed when sending maze to frontend.
+	 *
+	 * @return 2d int array with grid values
+	 */
+	public int[][] toArray() {
+		int[][] values = new int[dimensions][dimensions];
+		int index = 0;
+		for (int i = 0; i < dimensions; i++) {
+			int[] row = values[i];
+			for (int j = 0; j < dimensions; j++) {
+				row[j] = get(index++);
+			}
+		}
+		return values;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof MazeGrid)) {
+			return false;
+		}
+		MazeGrid other = (MazeGrid) obj;
+		return dimensions == other.dimensions && Arrays.equals(words, other.words);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * dimensions + Arrays.hashCode(words);
+	}
+
+}
@@ -0,0 +1,423 @@
+package isaiah.maze_website.models;
+
+import java.util.Arrays;
+
+/**
+ * Finds shortest paths through mazes, from (0, 0) to the opposite corner. Any
+ * position that is not a wall can be moved through. Positions are packed as x *
+ * dimensions + y and queues are primitive int arrays sized to the maze, so no
+ * position objects are created. Buffers are kept between solves and only grow
+ * for larger mazes, so a solver should be reused on one thread.
+ *
+ * Paths are returned as a move list with one letter per move, using the same
+ * directions as maze generation: N (y - 1), E (x + 1), S (y + 1), W (x - 1).
+ *
+ * @author Isaiah
+ *
+ */
+public class MazeSolver {
+
+	/**
+	 * Available search algorithms.
+	 */
+	public enum Algorithm {
+
+		/**
+		 * Breadth-first search from the start.
+		 */
+		BFS,
+
+		/**
+		 * A* search with a Manhattan distance heuristic.
+		 */
+		ASTAR,
+
+		/**
+		 * Breadth-first search from both ends, meeting in the middle.
+		 */
+		BIDIRECTIONAL;
+
+		/**
+		 * Finds algorithm by name, ignoring case.
+		 *
+		 * @param name bfs, astar, or bidirectional
+		 * @return matching algorithm
+		 */
+		public static Algorithm fromName(String name) {
+			for (Algorithm algorithm : values()) {
+				if (algorithm.name().equalsIgnoreCase(name)) {
+					return algorithm;
+				}
+			}
+			throw new IllegalArgumentException("Unknown solve algorithm: " + name);
+		}
+	}
+
+	/**
+	 * Value representing a wall in maze.
+	 */
+	private static final int WALL = 1;
+
+	/**
+	 * Letters for each move: north, east, south, west.
+	 */
+	private static final char[] MOVES = { 'N', 'E', 'S', 'W' };
+
+	/**
+	 * Change in x for each move.
+	 */
+	private static final int[] DIR_X = { 0, 1, 0, -1 };
+
+	/**
+	 * Change in y for each move.
+	 */
+	private static final int[] DIR_Y = { -1, 0, 1, 0 };
+
+	/**
+	 * Number of move directions.
+	 */
+	private static final int DIRECTIONS = 4;
+
+	/**
+	 * Marks for which search reached a position in bidirectional search.
+	 */
+	private static final byte FROM_START = 1;
+	private static final byte FROM_END = 2;
+
+	/**
+	 * Shift used to pack A* priority above position in a heap entry.
+	 */
+	private static final int PRIORITY_SHIFT = 32;
+
+	/**
+	 * Mask for position in a heap entry.
+	 */
+	private static final long POSITION_MASK = 0xFFFFFFFFL;
+
+	/**
+	 * Width and height of maze being solved.
+	 */
+	private int dimensions;
+
+	/**
+	 * Queue for start side. Each position is queued at most once.
+	 */
+	private int[] queue = new int[0];
+
+	/**
+	 * Queue for end side in bidirectional search.
+	 */
+	private int[] endQueue = new int[0];
+
+	/**
+	 * Direction of the move used to reach each position.
+	 */
+	private byte[] reachedFrom = new byte[0];
+
+	/**
+	 * Which search has reached each position, 0 if none.
+	 */
+	private byte[] reachedBy = new byte[0];
+
+	/**
+	 * Cost from start of each position for A*.
+	 */
+	private int[] costs = new int[0];
+
+	/**
+	 * Binary heap of A* entries, priority in high bits and position in low bits.
+	 */
+	private long[] heap = new long[0];
+
+	/**
+	 * Finds shortest path through maze.
+	 *
+	 * @param maze      square 2d array representing maze
+	 * @param algorithm search algorithm to use
+	 * @return move list from start to end, or null if there is no path
+	 */
+	public String solve(int[][] maze, Algorithm algorithm) {
+		dimensions = maze.length;
+		for (int[] row : maze) {
+			if (row.length != dimensions) {
+				throw new IllegalArgumentException("Maze must be square.");
+			}
+		}
+		prepare(dimensions * dimensions);
+		if (maze[0][0] == WALL || maze[dimensions - 1][dimensions - 1] == WALL) {
+			return null;
+		}
+		switch (algorithm) {
+		case ASTAR:
+			return aStar(maze);
+		case BIDIRECTIONAL:
+			return bidirectional(maze);
+		default:
+			return bfs(maze);
+		}
+	}
+
+	/**
+	 * Helper function that sizes and clears buffers.
+	 *
+	 * @param cellCount number of positions in maze
+	 */
+	private void prepare(int cellCount) {
+		if (queue.length < cellCount) {
+			queue = new int[cellCount];
+			endQueue = new int[cellCount];
+			reachedFrom = new byte[cellCount];
+			reachedBy = new byte[cellCount];
+			costs = new int[cellCount];
+		} else {
+			Arrays.fill(reachedBy, 0, cellCount, (byte) 0);
+		}
+	}
+
+	/**
+	 * Breadth-first search from start.
+	 *
+	 * @param maze maze to solve
+	 * @return move list, or null if there is no path
+	 */
+	private String bfs(int[][] maze) {
+		int end = dimensions * dimensions - 1;
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = 0;
+		reachedBy[0] = FROM_START;
+
+		while (head < tail) {
+			int position = queue[head++];
+			if (position == end) {
+				return buildPath(end, -1, -1);
+			}
+			int x = position / dimensions;
+			int y = position - x * dimensions;
+			for (int direction = 0; direction < DIRECTIONS; direction++) {
+				int newX = x + DIR_X[direction];
+				int newY = y + DIR_Y[direction];
+				if (isOpen(maze, newX, newY)) {
+					int newPosition = newX * dimensions + newY;
+					if (reachedBy[newPosition] == 0) {
+						reachedBy[newPosition] = FROM_START;
+						reachedFrom[newPosition] = (byte) direction;
+						queue[tail++] = newPosition;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * A* search with Manhattan distance to the end as heuristic. Uses a binary
+	 * heap of packed longs, skipping outdated entries when they are removed.
+	 *
+	 * @param maze maze to solve
+	 * @return move list, or null if there is no path
+	 */
+	private String aStar(int[][] maze) {
+		int end = dimensions * dimensions - 1;
+		Arrays.fill(costs, 0, dimensions * dimensions, Integer.MAX_VALUE);
+		int heapSize = 0;
+		costs[0] = 0;
+		heapSize = heapPush(heapSize, heuristic(0, 0), 0);
+
+		while (heapSize > 0) {
+			long entry = heap[0];
+			heapSize = heapPop(heapSize);
+			int position = (int) (entry & POSITION_MASK);
+			int x = position / dimensions;
+			int y = position - x * dimensions;
+			// skip entries replaced by a cheaper one
+			if ((int) (entry >>> PRIORITY_SHIFT) != costs[position] + heuristic(x, y)) {
+				continue;
+			}
+			if (position == end) {
+				return buildPath(end, -1, -1);
+			}
+			for (int direction = 0; direction < DIRECTIONS; direction++) {
+				int newX = x + DIR_X[direction];
+				int newY = y + DIR_Y[direction];
+				if (isOpen(maze, newX, newY)) {
+					int newPosition = newX * dimensions + newY;
+					int newCost = costs[position] + 1;
+					if (newCost < costs[newPosition]) {
+						costs[newPosition] = newCost;
+						reachedFrom[newPosition] = (byte) direction;
+						heapSize = heapPush(heapSize, newCost + heuristic(newX, newY), newPosition);
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Breadth-first search from both ends, one full layer at a time from the
+	 * smaller side. The first time a side reaches a position reached by the other
+	 * side, the path through it is shortest.
+	 *
+	 * @param maze maze to solve
+	 * @return move list, or null if there is no path
+	 */
+	private String bidirectional(int[][] maze) {
+		int end = dimensions * dimensions - 1;
+		int startHead = 0;
+		int startTail = 0;
+		int endHead = 0;
+		int endTail = 0;
+		queue[startTail++] = 0;
+		reachedBy[0] = FROM_START;
+		endQueue[endTail++] = end;
+		reachedBy[end] = FROM_END;
+
+		while (startHead < startTail && endHead < endTail) {
+			boolean fromStart = startTail - startHead <= endTail - endHead;
+			int[] sideQueue = fromStart ? queue : endQueue;
+			byte side = fromStart ? FROM_START : FROM_END;
+			int head = fromStart ? startHead : endHead;
+			int tail = fromStart ? startTail : endTail;
+			int layerEnd = tail;
+
+			while (head < layerEnd) {
+				int position = sideQueue[head++];
+				int x = position / dimensions;
+				int y = position - x * dimensions;
+				for (int direction = 0; direction < DIRECTIONS; direction++) {
+					int newX = x + DIR_X[direction];
+					int newY = y + DIR_Y[direction];
+					if (!isOpen(maze, newX, newY)) {
+						continue;
+					}
+					int newPosition = newX * dimensions + newY;
+					if (reachedBy[newPosition] == 0) {
+						reachedBy[newPosition] = side;
+						reachedFrom[newPosition] = (byte) direction;
+						sideQueue[tail++] = newPosition;
+					} else if (reachedBy[newPosition] != side) {
+						// searches met between position and newPosition
+						if (fromStart) {
+							return buildPath(position, newPosition, direction);
+						}
+						return buildPath(newPosition, position, (direction + 2) % DIRECTIONS);
+					}
+				}
+			}
+
+			if (fromStart) {
+				startHead = head;
+				startTail = tail;
+			} else {
+				endHead = head;
+				endTail = tail;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Helper function that builds move list by walking back from a position
+	 * reached from the start. For bidirectional search, also walks forward from a
+	 * position reached from the end.
+	 *
+	 * @param startSide   last position reached from start
+	 * @param endSide     first position reached from end, or -1 if none
+	 * @param meetingMove move from startSide to endSide, or -1 if none
+	 * @return move list
+	 */
+	private String buildPath(int startSide, int endSide, int meetingMove) {
+		StringBuilder path = new StringBuilder();
+		int position = startSide;
+		while (position != 0) {
+			int direction = reachedFrom[position];
+			path.append(MOVES[direction]);
+			position -= DIR_X[direction] * dimensions + DIR_Y[direction];
+		}
+		path.reverse();
+		if (endSide >= 0) {
+			path.append(MOVES[meetingMove]);
+			int end = dimensions * dimensions - 1;
+			position = endSide;
+			while (position != end) {
+				// end side moves were made away from the end, so go the opposite way
+				int direction = (reachedFrom[position] + 2) % DIRECTIONS;
+				path.append(MOVES[direction]);
+				position += DIR_X[direction] * dimensions + DIR_Y[direction];
+			}
+		}
+		return path.toString();
+	}
+
+	/**
+	 * Helper function that checks if a position is inside maze and not a wall.
+	 *
+	 * @param maze maze to check
+	 * @param x    x value of position
+	 * @param y    y value of position
+	 * @return true if position can be moved through
+	 */
+	private boolean isOpen(int[][] maze, int x, int y) {
+		return x >= 0 && y >= 0 && x < dimensions && y < dimensions && maze[x][y] != WALL;
+	}
+
+	/**
+	 * Helper function for Manhattan distance from a position to the end.
+	 *
+	 * @param x x value of position
+	 * @param y y value of position
+	 * @return distance to end
+	 */
+	private int heuristic(int x, int y) {
+		return (dimensions - 1 - x) + (dimensions - 1 - y);
+	}
+
+	/**
+	 * Helper function that adds an entry to the A* heap.
+	 *
+	 * @param size     current heap size
+	 * @param priority cost plus heuristic
+	 * @param position position of entry
+	 * @return new heap size
+	 */
+	private int heapPush(int size, int priority, int position) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, Math.max(DIRECTIONS, size * 2));
+		}
+		long entry = ((long) priority << PRIORITY_SHIFT) | position;
+		int index = size;
+		while (index > 0 && heap[(index - 1) / 2] > entry) {
+			heap[index] = heap[(index - 1) / 2];
+			index = (index - 1) / 2;
+		}
+		heap[index] = entry;
+		return size + 1;
+	}
+
+	/**
+	 * Helper function that removes the smallest entry from the A* heap.
+	 *
+	 * @param size current heap size
+	 * @return new heap size
+	 */
+	private int heapPop(int size) {
+		int newSize = size - 1;
+		long last = heap[newSize];
+		int index = 0;
+		while (2 * index + 1 < newSize) {
+			int child = 2 * index + 1;
+			if (child + 1 < newSize && heap[child + 1] < heap[child]) {
+				child++;
+			}
+			if (heap[child] >= last) {
+				break;
+			}
+			heap[index] = heap[child];
+			index = child;
+		}
+		heap[index] = last;
+		return newSize;
+	}
+
+}
@@ -0,0 +1,62 @@
+package isaiah.maze_website.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+/**
+ * Maze saved by a user, one row per maze. Stored in the binary format of
+ * MazeBinaryCodec, so saving or removing a maze only touches its own row.
+ * 
+ * @author Isaiah
+ *
+ */
+@Entity
+@Table(name = "saved_mazes", indexes = @Index(name = "saved_mazes_user_id_idx", columnList = "user_id, id"))
+public class SavedMaze {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	/**
+	 * User maze belongs to. Only referenced by id when saving.
+	 */
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "user_id", nullable = false, updatable = false)
+	private User user;
+
+	/**
+	 * Maze in binary format.
+	 */
+	@Column(nullable = false, updatable = false)
+	private byte[] payload;
+
+	public SavedMaze() {
+	}
+
+	public SavedMaze(User user, byte[] payload) {
+		this.user = user;
+		this.payload = payload;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public User getUser() {
+		return user;
+	}
+
+	public byte[] getPayload() {
+		return payload;
+	}
+
+}
@@ -0,0 +1,121 @@
+package isaiah.maze_website.models;
+
+import java.util.Arrays;
+
+/**
+ * Checks attempts at solving a maze. Uses DFS with a primitive stack of packed
+ * positions and a separate visited bitset, so the attempt is never modified.
+ * Buffers are kept between checks and only grow for larger mazes, so a checker
+ * reused on one thread creates no garbage.
+ * 
+ * @author Isaiah
+ *
+ */
+public class SolutionChecker {
+
+	/**
+	 * Value representing a target position in maze.
+	 */
+	private static final int TARGET_POSITION = 4;
+
+	/**
+	 * Value representing a selected position in maze.
+	 */
+	private static final int SELECTED_POSITION = 3;
+
+	/**
+	 * Checker for each thread, so its buffers are reused between checks.
+	 */
+	private static final ThreadLocal<SolutionChecker> CURRENT = ThreadLocal.withInitial(SolutionChecker::new);
+
+	/**
+	 * Stack of positions to visit, stored as x * dimensions + y.
+	 */
+	private int[] stack = new int[0];
+
+	/**
+	 * One bit per position, set once position has been added to stack.
+	 */
+	private long[] visited = new long[0];
+
+	/**
+	 * Gets checker for the current thread. Shared by every caller on the thread,
+	 * so only one set of buffers is kept per thread.
+	 * 
+	 * @return checker for current thread
+	 */
+	public static SolutionChecker forCurrentThread() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Checks whether attempt is correct or not: whether selected positions connect
+	 * the start at (0, 0) to another target position.
+	 * 
+	 * @param attempt square 2d array with information about solution
+	 * @return returns true if correct
+	 */
+	public boolean check(int[][] attempt) {
+		int dimensions = attempt.length;
+		for (int[] row : attempt) {
+			if (row.length != dimensions) {
+				throw new IllegalArgumentException("Attempt must be square.");
+			}
+		}
+		int cellCount = dimensions * dimensions;
+		if (stack.length < cellCount) {
+			stack = new int[cellCount];
+			visited = new long[(cellCount + Long.SIZE - 1) / Long.SIZE];
+		} else {
+			Arrays.fill(visited, 0, (cellCount + Long.SIZE - 1) / Long.SIZE, 0L);
+		}
+
+		int top = 0;
+		stack[top++] = 0;
+		visited[0] |= 1L;
+
+		while (top > 0) {
+			int position = stack[--top];
+			int x = position / dimensions;
+			int y = position - x * dimensions;
+			if (position != 0 && attempt[x][y] == TARGET_POSITION) {
+				return true;
+			}
+
+			if (x - 1 >= 0) {
+				top = push(attempt[x - 1][y], position - dimensions, top);
+			}
+			if (y - 1 >= 0) {
+				top = push(attempt[x][y - 1], position - 1, top);
+			}
+			if (x + 1 < dimensions) {
+				top = push(attempt[x + 1][y], position + dimensions, top);
+			}
+			if (y + 1 < dimensions) {
+				top = push(attempt[x][y + 1], position + 1, top);
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Helper function that adds a position to stack if it can be moved through and
+	 * has not been added before.
+	 * 
+	 * @param value    value at position
+	 * @param position position as x * dimensions + y
+	 * @param top      current stack size
+	 * @return new stack size
+	 */
+	private int push(int value, int position, int top) {
+		if ((value == SELECTED_POSITION || value == TARGET_POSITION)
+				&& (visited[position / Long.SIZE] & (1L << position)) == 0) {
+			visited[position / Long.SIZE] |= 1L << position;
+			stack[top] = position;
+			return top + 1;
+		}
+		return top;
+	}
+
+}
@@ -2,7 +2,11 @@ package isaiah.maze_website.models;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Id;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
@@ -15,19 +19,38 @@ import java.util.List;
 import isaiah.maze_website.converters.ConverterListIntArr2D;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"))
 public class User {
 
+	/**
+	 * Name of database sequence ids are taken from.
+	 */
+	public static final String ID_SEQUENCE = "users_id_seq";
+
+	/**
+	 * Name of unique constraint on username, used to tell duplicate usernames
+	 * apart from other integrity errors.
+	 */
+	public static final String USERNAME_CONSTRAINT = "users_username_key";
+
 	private static final int MAX_LENGTH_USERNAME = 20;
 	private static final int MAX_LENGTH_PASSWORD = 255;
 
+	/**
+	 * Id for a user, taken from a database sequence when user is added.
+	 */
 	@Id
-	// @GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+	@SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 1)
 	@Column(nullable = false, updatable = false)
 	private Long id;
 
+	/**
+	 * Username for a user, unique constraint also indexes lookups by username.
+	 */
 	@NotBlank
 	@Size(max = MAX_LENGTH_USERNAME)
+	@Column(nullable = false)
 	private String username;
 
 	@NotBlank
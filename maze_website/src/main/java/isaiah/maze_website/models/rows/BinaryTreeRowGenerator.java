@@ -0,0 +1,39 @@
+package isaiah.maze_website.models.rows;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates mazes with the binary tree algorithm. Every room opens either to
+ * the room above it (west, x - 1) or to the room before it in its row (north,
+ * y - 1), chosen randomly. Rooms in the first row can only open north and rooms
+ * in the first column can only open west. Each room decides on its own, so
+ * nothing is kept between rows.
+ *
+ * @author Isaiah
+ *
+ */
+public class BinaryTreeRowGenerator extends RoomRowGenerator {
+
+	/**
+	 * Creates generator.
+	 *
+	 * @param random random source for generation
+	 */
+	public BinaryTreeRowGenerator(SplittableRandom random) {
+		super(random);
+	}
+
+	@Override
+	protected void carve(int roomRow, boolean last, int rooms, int[] above, int[] row) {
+		for (int room = 0; room < rooms; room++) {
+			boolean canOpenWest = roomRow > 0;
+			boolean canOpenNorth = room > 0;
+			if (canOpenWest && (!canOpenNorth || random.nextBoolean())) {
+				above[2 * room] = EMPTY;
+			} else if (canOpenNorth) {
+				row[2 * room - 1] = EMPTY;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+package isaiah.maze_website.models.rows;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates mazes with Eller's algorithm. Each row of rooms only needs to know
+ * which rooms in it are already connected (their set). Sets are kept as a
+ * union-find over the rooms of the current row and rebuilt for each new row, so
+ * memory use depends only on width.
+ *
+ * Each row of rooms randomly joins neighbouring rooms in different sets, then
+ * randomly opens rooms downwards, with at least one opening for each set so no
+ * part of the maze is cut off. The last row joins every remaining set, giving a
+ * perfect maze (exactly one path between any two rooms).
+ *
+ * @author Isaiah
+ *
+ */
+public class EllerRowGenerator extends RoomRowGenerator {
+
+	/**
+	 * Parent of each room in current row's union-find.
+	 */
+	private int[] parents;
+
+	/**
+	 * Buffer for next row's union-find, swapped with parents.
+	 */
+	private int[] nextParents;
+
+	/**
+	 * Rooms of each set not yet handled when opening downwards.
+	 */
+	private int[] remaining;
+
+	/**
+	 * First room of each set opened downwards, -1 if none yet.
+	 */
+	private int[] firstDown;
+
+	/**
+	 * Creates generator.
+	 *
+	 * @param random random source for generation
+	 */
+	public EllerRowGenerator(SplittableRandom random) {
+		super(random);
+	}
+
+	@Override
+	protected void start(int rooms) {
+		parents = new int[rooms];
+		nextParents = new int[rooms];
+		remaining = new int[rooms];
+		firstDown = new int[rooms];
+		for (int room = 0; room < rooms; room++) {
+			parents[room] = room;
+		}
+	}
+
+	@Override
+	protected void carve(int roomRow, boolean last, int rooms, int[] above, int[] row) {
+		if (roomRow > 0) {
+			openDownwards(rooms, above);
+		}
+
+		// join neighbours in different sets, all of them on the last row
+		for (int room = 0; room < rooms - 1; room++) {
+			int left = find(room);
+			int right = find(room + 1);
+			if (left != right && (last || random.nextBoolean())) {
+				parents[right] = left;
+				row[2 * room + 1] = EMPTY;
+			}
+		}
+	}
+
+	/**
+	 * Helper function that opens rooms of the previous row downwards, at least one
+	 * for each set, and builds the sets of the new row.
+	 *
+	 * @param rooms number of rooms in each row
+	 * @param above row between previous row of rooms and the new one
+	 */
+	private void openDownwards(int rooms, int[] above) {
+		Arrays.fill(remaining, 0);
+		Arrays.fill(firstDown, -1);
+		for (int room = 0; room < rooms; room++) {
+			remaining[find(room)]++;
+		}
+		for (int room = 0; room < rooms; room++) {
+			int root = find(room);
+			remaining[root]--;
+			if (random.nextBoolean() || (remaining[root] == 0 && firstDown[root] < 0)) {
+				above[2 * room] = EMPTY;
+				if (firstDown[root] < 0) {
+					firstDown[root] = room;
+				}
+				// rooms opened downwards stay in their set
+				nextParents[room] = firstDown[root];
+			} else {
+				// rooms not opened downwards start a new set
+				nextParents[room] = room;
+			}
+		}
+		int[] temp = parents;
+		parents = nextParents;
+		nextParents = temp;
+	}
+
+	/**
+	 * Helper function that finds set of a room, halving paths along the way.
+	 *
+	 * @param room room index in current row
+	 * @return root room of set
+	 */
+	private int find(int room) {
+		while (parents[room] != room) {
+			parents[room] = parents[parents[room]];
+			room = parents[room];
+		}
+		return room;
+	}
+
+}
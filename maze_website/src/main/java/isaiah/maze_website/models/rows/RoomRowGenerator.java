@@ -0,0 +1,109 @@
+package isaiah.maze_website.models.rows;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Base for row generators that place rooms on even positions, like DFS
+ * generation. Rows alternate between rows of rooms and rows between them. Each
+ * row of rooms is carved together with the row above it, then both are passed
+ * on, so only two rows are ever held.
+ *
+ * Handles targets and the extra row or column left by even sizes, which are
+ * opened next to the last position like DFS generation.
+ *
+ * @author Isaiah
+ *
+ */
+public abstract class RoomRowGenerator implements RowGenerator {
+
+	/**
+	 * Value for open position.
+	 */
+	protected static final int EMPTY = 0;
+
+	/**
+	 * Value for wall.
+	 */
+	protected static final int WALL = 1;
+
+	/**
+	 * Value for start and end positions.
+	 */
+	private static final int TARGET_POSITION = 4;
+
+	/**
+	 * Random source for generation.
+	 */
+	protected final SplittableRandom random;
+
+	/**
+	 * Creates generator.
+	 *
+	 * @param random random source for generation
+	 */
+	protected RoomRowGenerator(SplittableRandom random) {
+		this.random = random;
+	}
+
+	@Override
+	public void generate(int width, int height, Consumer<int[]> rows) {
+		int rooms = (width + 1) / 2;
+		int roomRows = (height + 1) / 2;
+		int[] above = new int[width];
+		int[] row = new int[width];
+		start(rooms);
+
+		for (int roomRow = 0; roomRow < roomRows; roomRow++) {
+			boolean last = roomRow == roomRows - 1;
+			Arrays.fill(above, WALL);
+			Arrays.fill(row, WALL);
+			for (int room = 0; room < rooms; room++) {
+				row[2 * room] = EMPTY;
+			}
+			carve(roomRow, last, rooms, above, row);
+
+			if (last && width % 2 == 0) {
+				row[width - 1] = EMPTY;
+			}
+			if (roomRow == 0) {
+				row[0] = TARGET_POSITION;
+			} else {
+				rows.accept(above);
+			}
+			if (last && height % 2 == 1) {
+				row[width - 1] = TARGET_POSITION;
+			}
+			rows.accept(row);
+		}
+
+		if (height % 2 == 0) {
+			Arrays.fill(row, WALL);
+			row[width - 1] = TARGET_POSITION;
+			rows.accept(row);
+		}
+	}
+
+	/**
+	 * Called before the first row is carved.
+	 *
+	 * @param rooms number of rooms in each row
+	 */
+	protected void start(int rooms) {
+	}
+
+	/**
+	 * Carves passages for one row of rooms. Room i of the row is at position 2 *
+	 * i. Setting position 2 * i + 1 of row to EMPTY joins rooms i and i + 1, and
+	 * setting position 2 * i of above to EMPTY joins room i to the room above it.
+	 *
+	 * @param roomRow index of row of rooms, 0 for the first
+	 * @param last    whether this is the last row of rooms
+	 * @param rooms   number of rooms in row
+	 * @param above   row between this row of rooms and the one above, all walls
+	 * @param row     row of rooms, with rooms open and everything else walls
+	 */
+	protected abstract void carve(int roomRow, boolean last, int rooms, int[] above, int[] row);
+
+}
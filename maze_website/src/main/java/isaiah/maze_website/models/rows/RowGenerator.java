@@ -0,0 +1,27 @@
+package isaiah.maze_website.models.rows;
+
+import java.util.function.Consumer;
+
+/**
+ * Generates a maze one row at a time, so memory use depends only on the width
+ * of the maze and not its height. Rows use the same values and layout as Maze:
+ * walls are 1, open positions are 0, and the first and last positions of the
+ * maze are targets (4).
+ * 
+ * @author Isaiah
+ *
+ */
+public interface RowGenerator {
+
+	/**
+	 * Generates maze, passing each row to rows as soon as it is finished. The same
+	 * array may be passed for every row, so it must be used or copied before
+	 * accept returns.
+	 * 
+	 * @param width  number of positions in each row
+	 * @param height number of rows
+	 * @param rows   receives each row in order
+	 */
+	void generate(int width, int height, Consumer<int[]> rows);
+
+}
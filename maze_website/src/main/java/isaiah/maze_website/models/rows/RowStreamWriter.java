@@ -0,0 +1,68 @@
+package isaiah.maze_website.models.rows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes rows to an output stream, one JSON array per line (newline-delimited
+ * JSON). Rows are not flushed one by one, so the stream's own buffering decides
+ * how often the client receives them.
+ * 
+ * @author Isaiah
+ *
+ */
+public class RowStreamWriter implements Consumer<int[]> {
+
+	/**
+	 * Stream rows are written to.
+	 */
+	private final OutputStream output;
+
+	/**
+	 * Reused buffer holding the encoded row being written.
+	 */
+	private byte[] buffer = new byte[0];
+
+	/**
+	 * Creates writer for output.
+	 * 
+	 * @param output stream to write rows to
+	 */
+	public RowStreamWriter(OutputStream output) {
+		this.output = output;
+	}
+
+	/**
+	 * Writes row to output. Maze values are single digits, so each value is
+	 * written as one byte.
+	 * 
+	 * @throws UncheckedIOException if writing fails, such as when client
+	 *                              disconnects, which also stops generation
+	 */
+	@Override
+	public void accept(int[] row) {
+		// "[d,d,...]\n"
+		int length = 2 * row.length + 2;
+		if (buffer.length < length) {
+			buffer = new byte[length];
+		}
+		int pos = 0;
+		buffer[pos++] = '[';
+		for (int i = 0; i < row.length; i++) {
+			if (i > 0) {
+				buffer[pos++] = ',';
+			}
+			buffer[pos++] = (byte) ('0' + row[i]);
+		}
+		buffer[pos++] = ']';
+		buffer[pos++] = '\n';
+		try {
+			output.write(buffer, 0, pos);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -0,0 +1,46 @@
+package isaiah.maze_website.models.rows;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates mazes with the sidewinder algorithm. The first row of rooms is one
+ * open corridor. In every later row, rooms are joined into runs along the row,
+ * and each run ends randomly by opening one of its rooms to the row above. Only
+ * the start of the current run is kept.
+ *
+ * @author Isaiah
+ *
+ */
+public class SidewinderRowGenerator extends RoomRowGenerator {
+
+	/**
+	 * Creates generator.
+	 *
+	 * @param random random source for generation
+	 */
+	public SidewinderRowGenerator(SplittableRandom random) {
+		super(random);
+	}
+
+	@Override
+	protected void carve(int roomRow, boolean last, int rooms, int[] above, int[] row) {
+		if (roomRow == 0) {
+			for (int room = 0; room < rooms - 1; room++) {
+				row[2 * room + 1] = EMPTY;
+			}
+			return;
+		}
+		int runStart = 0;
+		for (int room = 0; room < rooms; room++) {
+			if (room == rooms - 1 || random.nextBoolean()) {
+				// end run, opening a random room of it upwards
+				int opening = runStart + random.nextInt(room - runStart + 1);
+				above[2 * opening] = EMPTY;
+				runStart = room + 1;
+			} else {
+				row[2 * room + 1] = EMPTY;
+			}
+		}
+	}
+
+}
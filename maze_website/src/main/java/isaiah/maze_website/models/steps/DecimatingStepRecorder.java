@@ -0,0 +1,150 @@
+package isaiah.maze_website.models.steps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import isaiah.maze_website.models.MazeGrid;
+
+/**
+ * Recorder that keeps at most a fixed number of frames, spread evenly over the
+ * generation, so step responses stay the same size however many steps a
+ * generation takes. The first and last steps are always kept.
+ * 
+ * Every stride-th step is kept. When the frames run out, the stride doubles and
+ * every other kept frame is dropped, which leaves frames still evenly spaced.
+ * The latest step is held separately so the last step is kept without knowing
+ * in advance which step is last.
+ * 
+ * @author Isaiah
+ *
+ */
+public class DecimatingStepRecorder implements StepRecorder {
+
+	/**
+	 * Fewest frames allowed, the first and last steps.
+	 */
+	public static final int MIN_FRAMES = 2;
+
+	/**
+	 * Most frames kept besides the latest step.
+	 */
+	private final int maxKept;
+
+	/**
+	 * Kept frames, every stride-th step starting with the first.
+	 */
+	private final List<MazeGrid> frames = new ArrayList<MazeGrid>();
+
+	/**
+	 * Frames dropped when stride doubled, reused for later copies.
+	 */
+	private final List<MazeGrid> spare = new ArrayList<MazeGrid>();
+
+	/**
+	 * Most recent step.
+	 */
+	private MazeGrid latest;
+
+	/**
+	 * Steps between kept frames, always a power of two.
+	 */
+	private int stride = 1;
+
+	/**
+	 * Number of recorded steps.
+	 */
+	private int stepCount;
+
+	/**
+	 * Creates recorder.
+	 * 
+	 * @param maxFrames most frames kept, at least 2
+	 * @throws IllegalArgumentException if maxFrames is less than 2
+	 */
+	public DecimatingStepRecorder(int maxFrames) {
+		if (maxFrames < MIN_FRAMES) {
+			throw new IllegalArgumentException("Max frames must be at least " + MIN_FRAMES + ".");
+		}
+		// one frame saved for last step
+		maxKept = maxFrames - 1;
+	}
+
+	@Override
+	public void record(MazeGrid grid) {
+		if (latest == null) {
+			latest = grid.copy();
+		} else {
+			latest.copyFrom(grid);
+		}
+		if (stepCount % stride == 0) {
+			if (frames.size() == maxKept) {
+				doubleStride();
+			}
+			// stride may have doubled, so check again
+			if (stepCount % stride == 0) {
+				frames.add(copyOf(grid));
+			}
+		}
+		stepCount++;
+	}
+
+	@Override
+	public List<int[][]> getSteps() {
+		List<int[][]> stepValues = new ArrayList<int[][]>(frames.size() + 1);
+		forEachFrame(frame -> stepValues.add(frame.toArray()));
+		return stepValues;
+	}
+
+	/**
+	 * Passes each kept frame in order, ending with the last step.
+	 * 
+	 * @param action action for each frame
+	 */
+	public void forEachFrame(Consumer<MazeGrid> action) {
+		for (MazeGrid frame : frames) {
+			action.accept(frame);
+		}
+		// last step not already kept as a frame
+		if (stepCount > 0 && (stepCount - 1) % stride != 0) {
+			action.accept(latest);
+		}
+	}
+
+	@Override
+	public int size() {
+		return stepCount;
+	}
+
+	/**
+	 * Helper function that doubles stride, dropping every other kept frame.
+	 */
+	private void doubleStride() {
+		int kept = 0;
+		for (int i = 0; i < frames.size(); i++) {
+			if (i % 2 == 0) {
+				frames.set(kept++, frames.get(i));
+			} else {
+				spare.add(frames.get(i));
+			}
+		}
+		frames.subList(kept, frames.size()).clear();
+		stride *= 2;
+	}
+
+	/**
+	 * Helper function that copies grid, reusing a dropped frame if there is one.
+	 * 
+	 * @param grid grid to copy
+	 * @return copy of grid
+	 */
+	private MazeGrid copyOf(MazeGrid grid) {
+		if (spare.isEmpty()) {
+			return grid.copy();
+		}
+		MazeGrid copy = spare.remove(spare.size() - 1);
+		copy.copyFrom(grid);
+		return copy;
+	}
+
+}
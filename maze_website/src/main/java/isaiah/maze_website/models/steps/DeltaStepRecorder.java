@@ -0,0 +1,142 @@
+package isaiah.maze_website.models.steps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import isaiah.maze_website.models.MazeGrid;
+
+/**
+ * Recorder that keeps the first step in full and only the changed cells for
+ * each step after it. Full steps are rebuilt when requested.
+ * 
+ * @author Isaiah
+ *
+ */
+public class DeltaStepRecorder implements StepRecorder {
+
+	/**
+	 * Starting capacity for changed cell arrays.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * First recorded step, stored in full.
+	 */
+	private MazeGrid keyframe;
+
+	/**
+	 * Most recent step, used to find changed cells.
+	 */
+	private MazeGrid previous;
+
+	/**
+	 * Indexes of changed cells for all steps after the first.
+	 */
+	private int[] changedIndexes = new int[INITIAL_CAPACITY];
+
+	/**
+	 * New values of changed cells, matching changedIndexes.
+	 */
+	private byte[] changedValues = new byte[INITIAL_CAPACITY];
+
+	/**
+	 * Number of changed cells stored.
+	 */
+	private int changedCount;
+
+	/**
+	 * End offset in changed cell arrays for each step after the first.
+	 */
+	private int[] stepEnds = new int[INITIAL_CAPACITY];
+
+	/**
+	 * Number of recorded steps.
+	 */
+	private int stepCount;
+
+	@Override
+	public void record(MazeGrid grid) {
+		if (keyframe == null) {
+			keyframe = grid.copy();
+			previous = grid.copy();
+			stepCount = 1;
+			return;
+		}
+		grid.forEachDifference(previous, index -> {
+			if (changedCount == changedIndexes.length) {
+				changedIndexes = Arrays.copyOf(changedIndexes, changedCount * 2);
+				changedValues = Arrays.copyOf(changedValues, changedCount * 2);
+			}
+			changedIndexes[changedCount] = index;
+			changedValues[changedCount] = (byte) grid.get(index);
+			changedCount++;
+		});
+		previous.copyFrom(grid);
+		if (stepCount - 1 == stepEnds.length) {
+			stepEnds = Arrays.copyOf(stepEnds, stepEnds.length * 2);
+		}
+		stepEnds[stepCount - 1] = changedCount;
+		stepCount++;
+	}
+
+	@Override
+	public List<int[][]> getSteps() {
+		List<int[][]> stepValues = new ArrayList<int[][]>(stepCount);
+		if (keyframe == null) {
+			return stepValues;
+		}
+		// replay changes on a working copy of the first step
+		MazeGrid current = keyframe.copy();
+		stepValues.add(current.toArray());
+		int change = 0;
+		for (int step = 0; step < stepCount - 1; step++) {
+			for (; change < stepEnds[step]; change++) {
+				current.set(changedIndexes[change], changedValues[change]);
+			}
+			stepValues.add(current.toArray());
+		}
+		return stepValues;
+	}
+
+	/**
+	 * Records every step again on another recorder, without building full
+	 * arrays for them.
+	 * 
+	 * @param target recorder to record steps on
+	 */
+	public void replay(StepRecorder target) {
+		if (keyframe == null) {
+			return;
+		}
+		MazeGrid current = keyframe.copy();
+		target.record(current);
+		int change = 0;
+		for (int step = 0; step < stepCount - 1; step++) {
+			for (; change < stepEnds[step]; change++) {
+				current.set(changedIndexes[change], changedValues[change]);
+			}
+			target.record(current);
+		}
+	}
+
+	@Override
+	public int size() {
+		return stepCount;
+	}
+
+	/**
+	 * Gets approximate memory used by recorded steps.
+	 * 
+	 * @return size in bytes
+	 */
+	public long sizeInBytes() {
+		long size = (long) changedIndexes.length * Integer.BYTES + changedValues.length
+				+ (long) stepEnds.length * Integer.BYTES;
+		if (keyframe != null) {
+			size += keyframe.sizeInBytes() + previous.sizeInBytes();
+		}
+		return size;
+	}
+
+}
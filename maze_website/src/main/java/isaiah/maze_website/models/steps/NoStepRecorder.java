@@ -0,0 +1,36 @@
+package isaiah.maze_website.models.steps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import isaiah.maze_website.models.MazeGrid;
+
+/**
+ * Recorder that keeps no steps. Used when only the final maze is needed.
+ * 
+ * @author Isaiah
+ *
+ */
+public class NoStepRecorder implements StepRecorder {
+
+	@Override
+	public void record(MazeGrid grid) {
+		// steps are not needed
+	}
+
+	@Override
+	public List<int[][]> getSteps() {
+		return new ArrayList<int[][]>();
+	}
+
+	@Override
+	public int size() {
+		return 0;
+	}
+
+	@Override
+	public boolean isRecording() {
+		return false;
+	}
+
+}
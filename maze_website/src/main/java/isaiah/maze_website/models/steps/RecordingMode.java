@@ -0,0 +1,42 @@
+package isaiah.maze_website.models.steps;
+
+/**
+ * Available ways of recording maze generation steps.
+ * 
+ * @author Isaiah
+ *
+ */
+public enum RecordingMode {
+
+	/**
+	 * No steps kept, for when only the final maze is needed.
+	 */
+	NONE,
+
+	/**
+	 * Full copy of maze kept for every step.
+	 */
+	SNAPSHOT,
+
+	/**
+	 * First step kept in full, then only changed cells for each step.
+	 */
+	DELTA;
+
+	/**
+	 * Creates new recorder for this mode.
+	 * 
+	 * @return step recorder
+	 */
+	public StepRecorder createRecorder() {
+		switch (this) {
+		case NONE:
+			return new NoStepRecorder();
+		case DELTA:
+			return new DeltaStepRecorder();
+		default:
+			return new SnapshotStepRecorder();
+		}
+	}
+
+}
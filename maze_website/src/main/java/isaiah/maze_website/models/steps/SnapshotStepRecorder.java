@@ -0,0 +1,40 @@
+package isaiah.maze_website.models.steps;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import isaiah.maze_website.models.MazeGrid;
+
+/**
+ * Recorder that keeps a full copy of the maze for every step.
+ * 
+ * @author Isaiah
+ *
+ */
+public class SnapshotStepRecorder implements StepRecorder {
+
+	/**
+	 * Copies of maze for each step.
+	 */
+	private List<MazeGrid> steps = new ArrayList<MazeGrid>();
+
+	@Override
+	public void record(MazeGrid grid) {
+		steps.add(grid.copy());
+	}
+
+	@Override
+	public List<int[][]> getSteps() {
+		List<int[][]> stepValues = new ArrayList<int[][]>(steps.size());
+		for (MazeGrid step : steps) {
+			stepValues.add(step.toArray());
+		}
+		return stepValues;
+	}
+
+	@Override
+	public int size() {
+		return steps.size();
+	}
+
+}
@@ -0,0 +1,47 @@
+package isaiah.maze_website.models.steps;
+
+import java.util.List;
+
+import isaiah.maze_website.models.MazeGrid;
+
+/**
+ * Records steps of maze generation. Generators call record after each change
+ * they want shown, and implementations decide how much of that history to keep.
+ * 
+ * @author Isaiah
+ *
+ */
+public interface StepRecorder {
+
+	/**
+	 * Records current state of maze as a step.
+	 * 
+	 * @param grid current maze values
+	 */
+	void record(MazeGrid grid);
+
+	/**
+	 * Builds 2d array form of every recorded step.
+	 * 
+	 * @return list of steps for generation of maze
+	 */
+	List<int[][]> getSteps();
+
+	/**
+	 * Gets number of recorded steps.
+	 * 
+	 * @return number of steps
+	 */
+	int size();
+
+	/**
+	 * Checks if recorder keeps steps. Generators can skip work only needed for
+	 * steps when it does not.
+	 * 
+	 * @return true if steps are kept
+	 */
+	default boolean isRecording() {
+		return true;
+	}
+
+}
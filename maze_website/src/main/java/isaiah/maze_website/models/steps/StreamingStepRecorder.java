@@ -0,0 +1,102 @@
+package isaiah.maze_website.models.steps;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import isaiah.maze_website.models.MazeGrid;
+
+/**
+ * Recorder that writes each step to an output stream as soon as it is
+ * recorded, one JSON array per line (newline-delimited JSON). Nothing is kept
+ * besides a buffer for a single step.
+ * 
+ * @author Isaiah
+ *
+ */
+public class StreamingStepRecorder implements StepRecorder {
+
+	/**
+	 * Stream steps are written to.
+	 */
+	private final OutputStream output;
+
+	/**
+	 * Reused buffer holding the encoded step being written.
+	 */
+	private byte[] buffer = new byte[0];
+
+	/**
+	 * Number of steps written.
+	 */
+	private int stepCount;
+
+	/**
+	 * Creates recorder writing to output.
+	 * 
+	 * @param output stream to write steps to
+	 */
+	public StreamingStepRecorder(OutputStream output) {
+		this.output = output;
+	}
+
+	/**
+	 * Writes step to output and flushes so client receives it right away.
+	 * Maze values are single digits, so each step is written directly from grid.
+	 * 
+	 * @throws UncheckedIOException if writing fails, such as when client
+	 *                              disconnects, which also stops generation
+	 */
+	@Override
+	public void record(MazeGrid grid) {
+		int dimensions = grid.getDimensions();
+		// "[" + rows of "[d,d,...]" separated by "," + "]\n"
+		int length = dimensions * (2 * dimensions + 2) + 2;
+		if (buffer.length < length) {
+			buffer = new byte[length];
+		}
+		int pos = 0;
+		int index = 0;
+		buffer[pos++] = '[';
+		for (int i = 0; i < dimensions; i++) {
+			if (i > 0) {
+				buffer[pos++] = ',';
+			}
+			buffer[pos++] = '[';
+			for (int j = 0; j < dimensions; j++) {
+				if (j > 0) {
+					buffer[pos++] = ',';
+				}
+				buffer[pos++] = (byte) ('0' + grid.get(index++));
+			}
+			buffer[pos++] = ']';
+		}
+		buffer[pos++] = ']';
+		buffer[pos++] = '\n';
+		try {
+			output.write(buffer, 0, pos);
+			output.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		stepCount++;
+	}
+
+	/**
+	 * Steps are written as they are recorded, so none are available afterwards.
+	 * 
+	 * @return empty list
+	 */
+	@Override
+	public List<int[][]> getSteps() {
+		return new ArrayList<int[][]>();
+	}
+
+	@Override
+	public int size() {
+		return stepCount;
+	}
+
+}
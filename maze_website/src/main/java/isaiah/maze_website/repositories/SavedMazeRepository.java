@@ -0,0 +1,43 @@
+package isaiah.maze_website.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import isaiah.maze_website.models.SavedMaze;
+
+public interface SavedMazeRepository extends JpaRepository<SavedMaze, Long> {
+
+	long countByUserId(Long userId);
+
+	/**
+	 * Gets payloads of user's saved mazes in the order they were saved, without
+	 * loading entities.
+	 * 
+	 * @param userId id of user
+	 * @return payloads in binary maze format
+	 */
+	@Query("select m.payload from SavedMaze m where m.user.id = :userId order by m.id")
+	List<byte[]> findPayloadsByUserId(@Param("userId") Long userId);
+
+	/**
+	 * Deletes user's saved maze at index, in the order they were saved, with a
+	 * single statement.
+	 * 
+	 * @param userId id of user
+	 * @param index  index of maze, from 0
+	 * @return number of mazes deleted, 0 if index is past the last maze
+	 */
+	@Modifying
+	@Query(value = "DELETE FROM saved_mazes WHERE id = (SELECT id FROM saved_mazes WHERE user_id = :userId"
+			+ " ORDER BY id LIMIT 1 OFFSET :index)", nativeQuery = true)
+	int deleteByUserIdAndIndex(@Param("userId") Long userId, @Param("index") int index);
+
+	@Modifying
+	@Query("delete from SavedMaze m where m.user.id = :userId")
+	int deleteByUserId(@Param("userId") Long userId);
+
+}
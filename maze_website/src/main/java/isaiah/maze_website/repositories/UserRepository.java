@@ -1,11 +1,76 @@
 package isaiah.maze_website.repositories;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import isaiah.maze_website.models.Role;
 import isaiah.maze_website.models.User;
+import jakarta.persistence.LockModeType;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
 	User findByUsername(String username);
 
+	boolean existsByUsername(String username);
+
+	/**
+	 * Creates id sequence if database does not have it yet.
+	 */
+	@Modifying
+	@Query(value = "CREATE SEQUENCE IF NOT EXISTS " + User.ID_SEQUENCE, nativeQuery = true)
+	void createIdSequence();
+
+	/**
+	 * Moves id sequence so the next id is one past the largest id in use. Ids
+	 * given out before the sequence existed would otherwise be given out again.
+	 * 
+	 * @return next id minus one
+	 */
+	@Query(value = "SELECT setval('" + User.ID_SEQUENCE + "', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false)",
+			nativeQuery = true)
+	Long syncIdSequence();
+
+	/**
+	 * Gets usernames of users without role, in username order, starting after a
+	 * username. Only usernames are selected, and the unique index on username is
+	 * used for both the start and the order.
+	 * 
+	 * @param role     role to leave out
+	 * @param after    usernames returned come after this one
+	 * @param pageable number of usernames to get
+	 * @return usernames
+	 */
+	@Query("select u.username from User u where u.username > :after and (u.role is null or u.role <> :role)"
+			+ " order by u.username")
+	List<String> findUsernamesAfter(@Param("role") Role role, @Param("after") String after, Pageable pageable);
+
+	@Query("select u.id from User u where u.username = :username")
+	Long findIdByUsername(@Param("username") String username);
+
+	/**
+	 * Checks if user still has mazes in the legacy saved mazes column, without
+	 * reading the column.
+	 * 
+	 * @param id id of user
+	 * @return true if legacy column is set
+	 */
+	@Query("select count(u) > 0 from User u where u.id = :id and u.savedMazes is not null")
+	boolean hasLegacySavedMazes(@Param("id") Long id);
+
+	/**
+	 * Loads user and locks their row until the transaction ends.
+	 * 
+	 * @param id id of user
+	 * @return user, or null if not found
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select u from User u where u.id = :id")
+	User findByIdForUpdate(@Param("id") Long id);
+
 }
@@ -0,0 +1,60 @@
+package isaiah.maze_website.security;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Password encoder that times another encoder. BCrypt is slow on purpose, so
+ * encoding and matching are timed as password.encode and password.matches to
+ * show how much of login and account creation they take.
+ * 
+ * @author Isaiah
+ *
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+	/**
+	 * Encoder doing the work.
+	 */
+	private final PasswordEncoder delegate;
+
+	/**
+	 * Timer for encoding.
+	 */
+	private final Timer encodeTimer;
+
+	/**
+	 * Timer for matching.
+	 */
+	private final Timer matchesTimer;
+
+	/**
+	 * Creates timed encoder.
+	 * 
+	 * @param delegate      encoder doing the work
+	 * @param meterRegistry registry for timers
+	 */
+	public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		encodeTimer = meterRegistry.timer("password.encode");
+		matchesTimer = meterRegistry.timer("password.matches");
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return encodeTimer.record(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+}
@@ -14,6 +14,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Steps up spring security and CORS.
  * 
@@ -30,8 +32,8 @@ public class WebSecurityConfig {
 	private static final long MAX_AGE_CORS = 1800L;
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+		return new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry);
 	}
 
 	@Bean
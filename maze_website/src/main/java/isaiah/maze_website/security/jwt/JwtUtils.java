@@ -5,6 +5,7 @@ import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -14,10 +15,12 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import isaiah.maze_website.models.User;
 
 /**
  * Used for generating JWTs, getting claims, and getting expiration time.
+ * Generating and parsing are timed as jwt.generate and jwt.parse.
  * 
  * @author Isaiah
  *
@@ -41,6 +44,9 @@ public class JwtUtils {
 	 */
 	private static final int MS_IN_MIN = 60000;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	/**
 	 * Generates JWT based on provided user. Stores username and role.
 	 * 
@@ -48,21 +54,23 @@ public class JwtUtils {
 	 * @return JWT
 	 */
 	public String generateJwt(User user) {
-		return Jwts.builder().claim("username", user.getUsername()).claim("role", user.getRole())
-				.setSubject(user.getUsername()).setId(UUID.randomUUID().toString())
-				.setIssuedAt(Date.from(Instant.now()))
-				.setExpiration(Date.from(Instant.now().plus(JWT_EXPIRATION, ChronoUnit.MINUTES)))
-				.signWith(key, SignatureAlgorithm.HS512).compact();
+		return meterRegistry.timer("jwt.generate")
+				.record(() -> Jwts.builder().claim("username", user.getUsername()).claim("role", user.getRole())
+						.setSubject(user.getUsername()).setId(UUID.randomUUID().toString())
+						.setIssuedAt(Date.from(Instant.now()))
+						.setExpiration(Date.from(Instant.now().plus(JWT_EXPIRATION, ChronoUnit.MINUTES)))
+						.signWith(key, SignatureAlgorithm.HS512).compact());
 	}
 
 	public Claims getClaims(String token) {
-		Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+		Claims claims = meterRegistry.timer("jwt.parse")
+				.record(() -> Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody());
 		return claims;
 	}
 
 	public int getExpiration(String token) {
-		int remainingTime = (int) (Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody()
-				.getExpiration().getTime() - System.currentTimeMillis()) / MS_IN_MIN;
+		int remainingTime = (int) (getClaims(token).getExpiration().getTime() - System.currentTimeMillis())
+				/ MS_IN_MIN;
 		return remainingTime;
 	}
 
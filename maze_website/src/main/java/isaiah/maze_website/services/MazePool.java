@@ -0,0 +1,158 @@
+package isaiah.maze_website.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import isaiah.maze_website.models.MazeGrid;
+
+/**
+ * Bounded ring buffer of ready-made mazes for one generation type and
+ * dimensions. Only one thread may add mazes, while any number of request
+ * threads take them. Taking is lock-free: a taker claims a slot by moving the
+ * head forward with compare-and-set.
+ *
+ * Demand is counted on every take, including takes that find the pool empty,
+ * so the producer can size the pool to traffic.
+ *
+ * @author Isaiah
+ *
+ */
+public class MazePool {
+
+	/**
+	 * Weight of newest demand count in smoothed demand.
+	 */
+	private static final double DEMAND_SMOOTHING = 0.3;
+
+	/**
+	 * Type of generation for pooled mazes.
+	 */
+	private final String generationType;
+
+	/**
+	 * Dimensions of pooled mazes.
+	 */
+	private final int dimensions;
+
+	/**
+	 * Slots holding mazes, indexed by position modulo capacity.
+	 */
+	private final AtomicReferenceArray<MazeGrid> slots;
+
+	/**
+	 * Mask converting a position into a slot index (capacity is a power of two).
+	 */
+	private final int mask;
+
+	/**
+	 * Position of next maze to take.
+	 */
+	private final AtomicLong head = new AtomicLong();
+
+	/**
+	 * Position after last added maze. Only changed by the producer.
+	 */
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * Takes since demand was last updated.
+	 */
+	private final AtomicLong requests = new AtomicLong();
+
+	/**
+	 * Smoothed takes per refill interval. Only used by the producer.
+	 */
+	private double demand;
+
+	/**
+	 * Creates empty pool.
+	 *
+	 * @param generationType type of generation for pooled mazes
+	 * @param dimensions     dimensions of pooled mazes
+	 * @param capacity       most mazes held, rounded up to a power of two
+	 */
+	public MazePool(String generationType, int dimensions, int capacity) {
+		this.generationType = generationType;
+		this.dimensions = dimensions;
+		int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+		slots = new AtomicReferenceArray<MazeGrid>(size);
+		mask = size - 1;
+	}
+
+	public String getGenerationType() {
+		return generationType;
+	}
+
+	public int getDimensions() {
+		return dimensions;
+	}
+
+	/**
+	 * Takes a maze from pool.
+	 *
+	 * @return maze, or null if pool is empty
+	 */
+	public MazeGrid take() {
+		requests.incrementAndGet();
+		while (true) {
+			long position = head.get();
+			if (position >= tail.get()) {
+				return null;
+			}
+			// slot cannot be refilled until head moves past it
+			MazeGrid grid = slots.get((int) position & mask);
+			if (head.compareAndSet(position, position + 1)) {
+				// clear slot unless producer has already refilled it
+				slots.compareAndSet((int) position & mask, grid, null);
+				return grid;
+			}
+		}
+	}
+
+	/**
+	 * Adds a maze to pool. Must only be called by the producer thread.
+	 *
+	 * @param grid maze to add
+	 * @return true if added, false if pool is full
+	 */
+	public boolean offer(MazeGrid grid) {
+		long position = tail.get();
+		if (position - head.get() > mask) {
+			return false;
+		}
+		slots.set((int) position & mask, grid);
+		tail.set(position + 1);
+		return true;
+	}
+
+	/**
+	 * Gets number of mazes in pool.
+	 *
+	 * @return number of mazes
+	 */
+	public int size() {
+		return (int) Math.max(0, tail.get() - head.get());
+	}
+
+	/**
+	 * Gets most mazes held.
+	 *
+	 * @return capacity
+	 */
+	public int capacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Updates smoothed demand with takes since last update. Must only be called by
+	 * the producer thread, once per refill interval.
+	 *
+	 * @return smoothed takes per refill interval
+	 */
+	public double updateDemand() {
+		long latest = requests.getAndSet(0);
+		demand = DEMAND_SMOOTHING * latest + (1 - DEMAND_SMOOTHING) * demand;
+		return demand;
+	}
+
+}
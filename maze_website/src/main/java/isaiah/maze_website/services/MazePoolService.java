@@ -0,0 +1,177 @@
+package isaiah.maze_website.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import isaiah.maze_website.generators.MazeGenerator;
+import isaiah.maze_website.models.AutomataEngine;
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.MazeGrid;
+import isaiah.maze_website.models.steps.RecordingMode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps pools of ready-made final mazes so requests do not wait for
+ * generation. A pool is created for each generation type and dimensions the
+ * first time they are requested. One background thread refills every pool,
+ * aiming for enough mazes to cover a few refill intervals of recent demand.
+ *
+ * Only unseeded requests with the default rulestring are served from pools,
+ * since any such maze is as good as a freshly generated one. Generators with a
+ * low cost hint are never pooled, as generating on request is about as fast as
+ * copying a pooled maze.
+ *
+ * @author Isaiah
+ *
+ */
+@Service
+public class MazePoolService {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MazePoolService.class);
+
+	/**
+	 * Refill intervals of demand each pool tries to hold.
+	 */
+	private static final int INTERVALS_AHEAD = 4;
+
+	/**
+	 * Mazes kept in a pool even when there is no recent demand.
+	 */
+	private static final int MIN_POOLED = 1;
+
+	@Autowired
+	private MazeService mazeService;
+
+	/**
+	 * Whether pools are used, from the maze.pool.enabled property.
+	 */
+	@Value("${maze.pool.enabled:true}")
+	private boolean enabled;
+
+	/**
+	 * Most mazes held in each pool.
+	 */
+	@Value("${maze.pool.capacity:64}")
+	private int capacity;
+
+	/**
+	 * Most pools kept, so unusual requests cannot create unbounded pools.
+	 */
+	@Value("${maze.pool.max-pools:32}")
+	private int maxPools;
+
+	/**
+	 * Largest dimensions pooled. Larger mazes are always generated on request.
+	 */
+	@Value("${maze.pool.max-dimensions:50}")
+	private int maxPooledDimensions;
+
+	/**
+	 * Time between refills in milliseconds.
+	 */
+	@Value("${maze.pool.refill-interval-ms:100}")
+	private long refillInterval;
+
+	/**
+	 * Pools keyed by generation type and dimensions.
+	 */
+	private final Map<String, MazePool> pools = new ConcurrentHashMap<String, MazePool>();
+
+	/**
+	 * Runs the producer.
+	 */
+	private ScheduledExecutorService producer;
+
+	/**
+	 * Starts producer thread if pools are enabled.
+	 */
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		producer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "maze-pool-producer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		producer.scheduleWithFixedDelay(this::refill, refillInterval, refillInterval, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Stops producer thread.
+	 */
+	@PreDestroy
+	public void stop() {
+		if (producer != null) {
+			producer.shutdownNow();
+		}
+	}
+
+	/**
+	 * Takes a ready-made maze for a request, if one is available.
+	 *
+	 * @param generationType type of maze requested
+	 * @param dimensions     dimensions of maze requested
+	 * @param rule           rulestring requested
+	 * @param seed           seed requested, or null
+	 * @return 2d int array representing maze, or null if request must be
+	 *         generated
+	 */
+	public int[][] take(String generationType, int dimensions, String rule, Long seed) {
+		if (!enabled || seed != null || !AutomataEngine.DEFAULT_RULESTRING.equals(rule)
+				|| !mazeService.isGenerationType(generationType) || dimensions > maxPooledDimensions) {
+			return null;
+		}
+		MazeGenerator generator = mazeService.getGenerator(generationType);
+		if (generator.getCost() == MazeGenerator.Cost.LOW
+				|| !Maze.isValidDimensions(dimensions, mazeService.getMaxDimensions(generator))) {
+			return null;
+		}
+		String key = generationType + "|" + dimensions;
+		MazePool pool = pools.get(key);
+		if (pool == null) {
+			if (pools.size() >= maxPools) {
+				return null;
+			}
+			pool = pools.computeIfAbsent(key, k -> new MazePool(generationType, dimensions, capacity));
+		}
+		MazeGrid grid = pool.take();
+		return grid == null ? null : grid.toArray();
+	}
+
+	/**
+	 * Refills every pool towards a target based on its recent demand. Runs on the
+	 * producer thread only.
+	 */
+	private void refill() {
+		for (MazePool pool : pools.values()) {
+			double demand = pool.updateDemand();
+			int target = (int) Math.min(pool.capacity(), Math.max(MIN_POOLED, Math.ceil(demand * INTERVALS_AHEAD)));
+			try {
+				MazeGenerator generator = mazeService.getGenerator(pool.getGenerationType());
+				while (pool.size() < target) {
+					Maze maze = mazeService.createMaze(generator, pool.getDimensions(), null,
+							RecordingMode.NONE.createRecorder());
+					mazeService.generateForPool(generator, maze, AutomataEngine.DEFAULT_RULESTRING);
+					pool.offer(maze.getGrid());
+				}
+			} catch (RuntimeException e) {
+				// keep producer scheduled, requests fall back to generating
+				LOGGER.warn("Refilling maze pool for {} at {} failed.", pool.getGenerationType(),
+						pool.getDimensions(), e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,326 @@
+package isaiah.maze_website.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import isaiah.maze_website.generators.MazeGenerator;
+import isaiah.maze_website.generators.MazeGeneratorRegistry;
+import isaiah.maze_website.metrics.MazeMetrics;
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.MazeGrid;
+import isaiah.maze_website.models.rows.RowGenerator;
+import isaiah.maze_website.models.steps.DecimatingStepRecorder;
+import isaiah.maze_website.models.steps.DeltaStepRecorder;
+import isaiah.maze_website.models.steps.RecordingMode;
+import isaiah.maze_website.models.steps.StepRecorder;
+
+/**
+ * Generates mazes for maze controller. Seeded requests always give the same
+ * result, so their results are cached in memory by generation type,
+ * dimensions, rulestring, and seed. Unseeded requests are never cached.
+ *
+ * @author Isaiah
+ *
+ */
+@Service
+public class MazeService {
+
+	/**
+	 * Fewest rows allowed for row-streamed mazes.
+	 */
+	private static final int MIN_ROWS_HEIGHT = 5;
+
+	@Autowired
+	private MazeGeneratorRegistry registry;
+
+	@Autowired
+	private MazeMetrics mazeMetrics;
+
+	/**
+	 * Largest dimensions allowed for requested mazes. Defaults to 20, can be
+	 * raised up to 1000 with the maze.max-dimensions property.
+	 */
+	@Value("${maze.max-dimensions:20}")
+	private int maxDimensions;
+
+	/**
+	 * Most rows allowed for row-streamed mazes. Defaults to 1000000, since rows
+	 * are never all held in memory.
+	 */
+	@Value("${maze.rows.max-height:1000000}")
+	private int maxRowsHeight;
+
+	/**
+	 * Smallest section area recursive division splits across threads when steps
+	 * are not recorded. Defaults to 65536 (256 by 256).
+	 */
+	@Value("${maze.parallel.cutoff-area:65536}")
+	private int parallelCutoff;
+
+	/**
+	 * Cached final mazes, stored packed.
+	 */
+	private final WeightedLruCache<String, MazeGrid> finalCache;
+
+	/**
+	 * Cached generation steps, stored as changes between steps.
+	 */
+	private final WeightedLruCache<String, DeltaStepRecorder> stepsCache;
+
+	/**
+	 * Creates service with cache sizes from the maze.cache.final-max-bytes and
+	 * maze.cache.steps-max-bytes properties (16 MB and 64 MB by default).
+	 *
+	 * @param finalMaxBytes largest total size of cached final mazes
+	 * @param stepsMaxBytes largest total size of cached generation steps
+	 */
+	public MazeService(@Value("${maze.cache.final-max-bytes:16777216}") long finalMaxBytes,
+			@Value("${maze.cache.steps-max-bytes:67108864}") long stepsMaxBytes) {
+		finalCache = new WeightedLruCache<String, MazeGrid>(finalMaxBytes, MazeGrid::sizeInBytes);
+		stepsCache = new WeightedLruCache<String, DeltaStepRecorder>(stepsMaxBytes,
+				DeltaStepRecorder::sizeInBytes);
+	}
+
+	public int getMaxDimensions() {
+		return maxDimensions;
+	}
+
+	/**
+	 * Gets largest dimensions allowed for a type of generation, the smaller of the
+	 * configured max dimensions and the generator's own limit.
+	 *
+	 * @param generator generator to use
+	 * @return largest dimensions
+	 */
+	public int getMaxDimensions(MazeGenerator generator) {
+		return Math.min(maxDimensions, generator.getMaxDimensions());
+	}
+
+	/**
+	 * Gets generator for generation type.
+	 *
+	 * @param generationType type of maze to generate
+	 * @return generator
+	 * @throws IllegalArgumentException if type is unknown
+	 */
+	public MazeGenerator getGenerator(String generationType) {
+		return registry.get(generationType);
+	}
+
+	/**
+	 * Checks if generation type can be requested.
+	 *
+	 * @param generationType type of maze to generate
+	 * @return true if type is known
+	 */
+	public boolean isGenerationType(String generationType) {
+		return registry.contains(generationType);
+	}
+
+	/**
+	 * Describes every generator, with capabilities and stats.
+	 *
+	 * @return one map of properties for each generator
+	 */
+	public List<Map<String, Object>> describeGenerators() {
+		return registry.describe();
+	}
+
+	/**
+	 * Checks if width and height are allowed for a row-streamed maze. Width is
+	 * limited like other mazes, height by the maze.rows.max-height property.
+	 *
+	 * @param generator generator to use
+	 * @param width     number of positions in each row
+	 * @param height    number of rows
+	 * @return true if allowed
+	 */
+	public boolean isValidRowsSize(MazeGenerator generator, int width, int height) {
+		return Maze.isValidDimensions(width, getMaxDimensions(generator)) && height >= MIN_ROWS_HEIGHT
+				&& height <= maxRowsHeight;
+	}
+
+	/**
+	 * Creates generator for a row-streamed maze.
+	 *
+	 * @param generator generator to use
+	 * @param seed      seed for generation, or null for a random maze
+	 * @return row generator
+	 * @throws IllegalArgumentException if type cannot be generated by rows
+	 */
+	public RowGenerator createRowGenerator(MazeGenerator generator, Long seed) {
+		if (!generator.supportsStreaming()) {
+			throw new IllegalArgumentException(generator.getType() + " mazes cannot be generated by rows.");
+		}
+		return generator.createRowGenerator(seed == null ? new SplittableRandom() : new SplittableRandom(seed));
+	}
+
+	/**
+	 * Generates final maze.
+	 *
+	 * @param generationType type of maze to generate
+	 * @param dimensions     dimensions of maze
+	 * @param rule           rulestring for cellular automata generation
+	 * @param seed           seed for generation, or null for a random maze
+	 * @return 2d int array representing maze
+	 * @throws IllegalArgumentException if type is unknown or dimensions are not
+	 *                                  allowed
+	 */
+	public int[][] generateFinal(String generationType, int dimensions, String rule, Long seed) {
+		MazeGenerator generator = registry.get(generationType);
+		String key = seed == null ? null : cacheKey(generationType, dimensions, rule, seed);
+		if (key != null) {
+			MazeGrid cached = finalCache.get(key);
+			if (cached != null) {
+				return cached.toArray();
+			}
+		}
+		// steps not sent, so none recorded
+		Maze maze = createMaze(generator, dimensions, seed, RecordingMode.NONE.createRecorder());
+		generate(generator, maze, rule);
+		if (key != null) {
+			finalCache.put(key, maze.getGrid());
+		}
+		return maze.getValues();
+	}
+
+	/**
+	 * Generates maze and returns its generation steps. When maxFrames is given,
+	 * only that many evenly spread steps are kept, always including the first and
+	 * last.
+	 *
+	 * @param generationType type of maze to generate
+	 * @param dimensions     dimensions of maze
+	 * @param rule           rulestring for cellular automata generation
+	 * @param seed           seed for generation, or null for a random maze
+	 * @param maxFrames      most steps returned, or null for every step
+	 * @return list of steps for generation of maze
+	 * @throws IllegalArgumentException if type is unknown, dimensions are not
+	 *                                  allowed, or maxFrames is less than 2
+	 */
+	public List<int[][]> generateFull(String generationType, int dimensions, String rule, Long seed,
+			Integer maxFrames) {
+		MazeGenerator generator = registry.get(generationType);
+		if (maxFrames != null) {
+			return generateFrames(generator, dimensions, rule, seed, maxFrames).getSteps();
+		}
+		String key = seed == null ? null : cacheKey(generationType, dimensions, rule, seed);
+		if (key != null) {
+			DeltaStepRecorder cached = stepsCache.get(key);
+			if (cached != null) {
+				return cached.getSteps();
+			}
+		}
+		// only changed cells kept per step, full steps rebuilt for response
+		DeltaStepRecorder recorder = new DeltaStepRecorder();
+		Maze maze = createMaze(generator, dimensions, seed, recorder);
+		generate(generator, maze, rule);
+		if (key != null) {
+			stepsCache.put(key, recorder);
+		}
+		return recorder.getSteps();
+	}
+
+	/**
+	 * Generates maze keeping at most maxFrames evenly spread steps, so the full
+	 * history is never held. Seeded mazes with every step already cached are
+	 * replayed from the cache instead. Results are not cached, since they are
+	 * cheap to hold but differ for each frame budget.
+	 *
+	 * @param generator  generator to use
+	 * @param dimensions dimensions of maze
+	 * @param rule       rulestring for cellular automata generation
+	 * @param seed       seed for generation, or null for a random maze
+	 * @param maxFrames  most steps kept, at least 2
+	 * @return recorder holding kept steps
+	 * @throws IllegalArgumentException if dimensions are not allowed or maxFrames
+	 *                                  is less than 2
+	 */
+	public DecimatingStepRecorder generateFrames(MazeGenerator generator, int dimensions, String rule, Long seed,
+			int maxFrames) {
+		DecimatingStepRecorder recorder = new DecimatingStepRecorder(maxFrames);
+		if (seed != null) {
+			DeltaStepRecorder cached = stepsCache.get(cacheKey(generator.getType(), dimensions, rule, seed));
+			if (cached != null) {
+				cached.replay(recorder);
+				return recorder;
+			}
+		}
+		Maze maze = createMaze(generator, dimensions, seed, recorder);
+		generate(generator, maze, rule);
+		return recorder;
+	}
+
+	/**
+	 * Creates maze for generation.
+	 *
+	 * @param generator  generator that will be used
+	 * @param dimensions dimensions of maze
+	 * @param seed       seed for generation, or null for a random maze
+	 * @param recorder   recorder for generation steps
+	 * @return new maze
+	 * @throws IllegalArgumentException if dimensions are not allowed for
+	 *                                  generator
+	 */
+	public Maze createMaze(MazeGenerator generator, int dimensions, Long seed, StepRecorder recorder) {
+		Maze maze = new Maze(dimensions, getMaxDimensions(generator), recorder);
+		maze.setParallelCutoff(parallelCutoff);
+		if (seed != null) {
+			maze.setSeed(seed);
+		}
+		return maze;
+	}
+
+	/**
+	 * Runs generation on maze, timed in generator's stats and in metrics tagged by
+	 * generation type and dimensions.
+	 *
+	 * @param generator generator to use
+	 * @param maze      maze to generate
+	 * @param rule      rulestring for cellular automata generation
+	 */
+	public void generate(MazeGenerator generator, Maze maze, String rule) {
+		long start = System.nanoTime();
+		registry.generate(generator, maze, rule);
+		mazeMetrics.recordGeneration(generator.getType(), maze.getDimensions(), MazeMetrics.SOURCE_REQUEST,
+				System.nanoTime() - start);
+		mazeMetrics.countSteps(generator.getType(), maze.getStepCount());
+	}
+
+	/**
+	 * Runs generation on maze to refill a pool. Timed in metrics with the pool
+	 * source tag, and left out of generator's stats, so request numbers only
+	 * count mazes generated for requests.
+	 *
+	 * @param generator generator to use
+	 * @param maze      maze to generate
+	 * @param rule      rulestring for cellular automata generation
+	 */
+	public void generateForPool(MazeGenerator generator, Maze maze, String rule) {
+		long start = System.nanoTime();
+		generator.generate(maze, rule);
+		mazeMetrics.recordGeneration(generator.getType(), maze.getDimensions(), MazeMetrics.SOURCE_POOL,
+				System.nanoTime() - start);
+	}
+
+	/**
+	 * Helper function that builds cache key for a seeded request. Rulestring only
+	 * affects cellular automata generation, so it is left out for other types.
+	 *
+	 * @param generationType type of maze to generate
+	 * @param dimensions     dimensions of maze
+	 * @param rule           rulestring for cellular automata generation
+	 * @param seed           seed for generation
+	 * @return cache key
+	 */
+	private static String cacheKey(String generationType, int dimensions, String rule, long seed) {
+		String ruleKey = "ca".equals(generationType) ? rule.trim().toUpperCase() : "";
+		return generationType + "|" + dimensions + "|" + ruleKey + "|" + seed;
+	}
+
+}
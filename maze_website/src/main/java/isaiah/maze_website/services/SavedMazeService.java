@@ -0,0 +1,161 @@
+package isaiah.maze_website.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import isaiah.maze_website.converters.MazeBinaryCodec;
+import isaiah.maze_website.models.SavedMaze;
+import isaiah.maze_website.models.User;
+import isaiah.maze_website.repositories.SavedMazeRepository;
+import isaiah.maze_website.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+
+/**
+ * Saves, removes, and gets users' saved mazes. Each maze is its own row, so
+ * saving is a row lock, a count, and an insert, and removing is a single
+ * delete, however many mazes a user has.
+ * 
+ * Mazes from before the saved_mazes table are still in the users table. They
+ * are moved to the new table the first time a user's mazes are used.
+ * 
+ * @author Isaiah
+ *
+ */
+@Service
+@Transactional
+public class SavedMazeService {
+
+	@Autowired
+	private SavedMazeRepository savedMazeRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	/**
+	 * Most mazes saved for each user, from the maze.saved.max-per-user property.
+	 */
+	@Value("${maze.saved.max-per-user:10}")
+	private int maxSavedMazes;
+
+	/**
+	 * Saves maze for user unless they are at the limit. User's row is locked
+	 * before counting, so saves at the same time cannot go over the limit.
+	 * 
+	 * @param username username of user
+	 * @param maze     maze to save
+	 * @return true if saved, false if user has the most mazes allowed
+	 * @throws IllegalArgumentException if user does not exist or maze cannot be
+	 *                                  stored
+	 */
+	public boolean saveMaze(String username, int[][] maze) {
+		byte[] payload = encode(maze);
+		User user = userRepository.findByIdForUpdate(findUserId(username));
+		if (user == null) {
+			throw new IllegalArgumentException("User not found.");
+		}
+		if (savedMazeRepository.countByUserId(user.getId()) >= maxSavedMazes) {
+			return false;
+		}
+		savedMazeRepository.save(new SavedMaze(user, payload));
+		return true;
+	}
+
+	/**
+	 * Removes user's maze at index, in the order mazes were saved.
+	 * 
+	 * @param username username of user
+	 * @param index    index of maze to remove
+	 * @return true if removed, false if there is no maze at index
+	 * @throws IllegalArgumentException if user does not exist
+	 */
+	public boolean removeMaze(String username, int index) {
+		Long userId = findUserId(username);
+		return index >= 0 && savedMazeRepository.deleteByUserIdAndIndex(userId, index) > 0;
+	}
+
+	/**
+	 * Gets stored payloads of user's saved mazes in the order they were saved.
+	 * Only payloads are selected, so no entities are loaded. All payloads (at most
+	 * maze.saved.max-per-user) are read before returning, so callers can write
+	 * them out without holding a database connection.
+	 * 
+	 * @param username username of user
+	 * @return payloads in binary maze format
+	 * @throws IllegalArgumentException if user does not exist
+	 */
+	public List<byte[]> getMazePayloads(String username) {
+		return savedMazeRepository.findPayloadsByUserId(findUserId(username));
+	}
+
+	/**
+	 * Removes all of user's saved mazes. Used before removing a user.
+	 * 
+	 * @param userId id of user
+	 */
+	public void removeAllMazes(Long userId) {
+		savedMazeRepository.deleteByUserId(userId);
+	}
+
+	/**
+	 * Helper function that finds user's id and moves any legacy mazes they have.
+	 * Legacy column is checked every time (a primary key lookup) instead of
+	 * remembering moved users, since a move is only done once its transaction
+	 * commits.
+	 * 
+	 * @param username username of user
+	 * @return id of user
+	 */
+	private Long findUserId(String username) {
+		Long userId = userRepository.findIdByUsername(username);
+		if (userId == null) {
+			throw new IllegalArgumentException("User not found.");
+		}
+		if (userRepository.hasLegacySavedMazes(userId)) {
+			migrateLegacyMazes(userId);
+		}
+		return userId;
+	}
+
+	/**
+	 * Helper function that moves user's mazes from the legacy column to the
+	 * saved_mazes table, keeping their order. User's row is locked so mazes are
+	 * only moved once.
+	 * 
+	 * @param userId id of user
+	 */
+	private void migrateLegacyMazes(Long userId) {
+		User user = userRepository.findByIdForUpdate(userId);
+		if (user == null) {
+			return;
+		}
+		// empty if moved while waiting for lock
+		for (int[][] maze : user.getSavedMazes()) {
+			savedMazeRepository.save(new SavedMaze(user, encode(maze)));
+		}
+		user.setSavedMazes(null);
+	}
+
+	/**
+	 * Helper function that encodes maze in binary format.
+	 * 
+	 * @param maze maze to encode
+	 * @return payload
+	 */
+	private static byte[] encode(int[][] maze) {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try {
+			MazeBinaryCodec.writeMaze(maze, output);
+		} catch (IOException e) {
+			// not thrown by in-memory streams
+			throw new UncheckedIOException(e);
+		}
+		return output.toByteArray();
+	}
+
+}
@@ -1,14 +1,19 @@
 package isaiah.maze_website.services;
 
-import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import isaiah.maze_website.exceptions.MaxUsersReachedException;
 import isaiah.maze_website.exceptions.UsernameConflictException;
+import isaiah.maze_website.models.Role;
 import isaiah.maze_website.models.User;
 import isaiah.maze_website.repositories.UserRepository;
 import jakarta.transaction.Transactional;
@@ -25,50 +30,67 @@ public class UserService {
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
+	@Autowired
+	private SavedMazeService savedMazeService;
+
 	/**
-	 * Checks and formats user. Calls UserRepository to add user to database.
-	 * Process for setting the input user's id: create list of all user ids in db,
-	 * Long starting at one is incremented until an id is found that is not in the
-	 * list of ids currently in db.
-	 * 
+	 * Checks and formats user. Calls UserRepository to add user to database. Uses
+	 * a fixed number of indexed queries however many users there are: a count for
+	 * the limit, an exists check on username, and the insert. User's id is taken
+	 * from a database sequence, and the unique constraint on username catches
+	 * duplicates added at the same time. Other integrity errors are not caught.
 	 * 
 	 * @param user input user
 	 * @return saved user
 	 * @throws MaxUsersReachedException  thrown if max users in database reached
 	 * @throws UsernameConflictException thrown if user's username is a duplicate
 	 */
+	@Transactional(rollbackOn = { MaxUsersReachedException.class, UsernameConflictException.class })
 	public User addUser(User user) throws MaxUsersReachedException, UsernameConflictException {
-		List<User> allUsers = userRepository.findAll();
 		// saved users limit
-		if (allUsers.size() >= MAX_SAVED_USERS) {
+		if (userRepository.count() >= MAX_SAVED_USERS) {
 			throw new MaxUsersReachedException("Maximum number of users in database has been reached.");
 		}
 		// conflict check
-		for (User u : allUsers) {
-			if (u.getUsername().equals(user.getUsername())) {
-				throw new UsernameConflictException("Should not have duplicate usernames in database.");
-			}
+		if (userRepository.existsByUsername(user.getUsername())) {
+			throw new UsernameConflictException("Should not have duplicate usernames in database.");
 		}
-		// set id
-		List<Long> allIds = new ArrayList<Long>();
-		for (User u : allUsers) {
-			allIds.add(u.getId());
-		}
-		Long newId = 1L;
-		while (allIds.contains(newId)) {
-			newId++;
-		}
-		user.setId(newId);
+		// id set by sequence, any id sent would update an existing user instead
+		user.setId(null);
 		// encode password
 		user.setPassword(passwordEncoder.encode(user.getPassword()));
-		return userRepository.saveAndFlush(user);
+		try {
+			return userRepository.saveAndFlush(user);
+		} catch (DataIntegrityViolationException e) {
+			if (!isUsernameConflict(e)) {
+				throw e;
+			}
+			throw new UsernameConflictException("Should not have duplicate usernames in database.");
+		}
+	}
+
+	/**
+	 * Makes sure id sequence exists and is past every id in use. Ids were given
+	 * out by the application before the sequence was used, so a new sequence
+	 * would otherwise start at ids that are taken. Runs once at startup.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void syncIdSequence() {
+		userRepository.createIdSequence();
+		userRepository.syncIdSequence();
 	}
 
 	public User updateUser(User user) {
 		return userRepository.saveAndFlush(user);
 	}
 
+	/**
+	 * Removes user and their saved mazes.
+	 * 
+	 * @param user user to remove
+	 */
 	public void removeUser(User user) {
+		savedMazeService.removeAllMazes(user.getId());
 		userRepository.delete(user);
 	}
 
@@ -82,7 +104,33 @@ public class UserService {
 		return userRepository.findByUsername(user.getUsername());
 	}
 
-	public List<User> getAllUsers() {
-		return userRepository.findAll();
+	/**
+	 * Gets a page of usernames of all non-admin users, in username order. Pages
+	 * are found by the last username of the page before (keyset pagination), so
+	 * later pages cost the same as the first.
+	 * 
+	 * @param after last username of the page before, null for the first page
+	 * @param limit most usernames to get
+	 * @return usernames
+	 */
+	public List<String> getUsernames(String after, int limit) {
+		return userRepository.findUsernamesAfter(Role.ADMIN, after == null ? "" : after, PageRequest.of(0, limit));
+	}
+
+	/**
+	 * Helper function that checks if integrity error is from unique constraint on
+	 * username.
+	 * 
+	 * @param e integrity error from saving user
+	 * @return true if username constraint was violated
+	 */
+	private static boolean isUsernameConflict(DataIntegrityViolationException e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof ConstraintViolationException) {
+				return User.USERNAME_CONSTRAINT
+						.equalsIgnoreCase(((ConstraintViolationException) cause).getConstraintName());
+			}
+		}
+		return false;
 	}
 }
@@ -0,0 +1,114 @@
+package isaiah.maze_website.services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Least recently used cache bounded by total size instead of entry count. Each
+ * value is weighed when added, and the least recently used entries are removed
+ * until the total fits. Values larger than the whole cache are not kept.
+ *
+ * @author Isaiah
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class WeightedLruCache<K, V> {
+
+	/**
+	 * Load factor for backing map.
+	 */
+	private static final float LOAD_FACTOR = 0.75f;
+
+	/**
+	 * Starting capacity for backing map.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Entries in access order, least recently used first.
+	 */
+	private final LinkedHashMap<K, V> entries = new LinkedHashMap<K, V>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+
+	/**
+	 * Gives size of a value.
+	 */
+	private final ToLongFunction<V> weigher;
+
+	/**
+	 * Largest total size kept.
+	 */
+	private final long maxWeight;
+
+	/**
+	 * Total size of kept values.
+	 */
+	private long totalWeight;
+
+	/**
+	 * Creates empty cache.
+	 *
+	 * @param maxWeight largest total size kept
+	 * @param weigher   gives size of a value
+	 */
+	public WeightedLruCache(long maxWeight, ToLongFunction<V> weigher) {
+		this.maxWeight = maxWeight;
+		this.weigher = weigher;
+	}
+
+	/**
+	 * Gets value and marks it as most recently used.
+	 *
+	 * @param key key of value
+	 * @return value, or null if not cached
+	 */
+	public synchronized V get(K key) {
+		return entries.get(key);
+	}
+
+	/**
+	 * Adds value, removing least recently used values if needed to stay within max
+	 * size.
+	 *
+	 * @param key   key of value
+	 * @param value value to cache
+	 */
+	public synchronized void put(K key, V value) {
+		long weight = weigher.applyAsLong(value);
+		if (weight > maxWeight) {
+			return;
+		}
+		V old = entries.put(key, value);
+		if (old != null) {
+			totalWeight -= weigher.applyAsLong(old);
+		}
+		totalWeight += weight;
+		Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+		while (totalWeight > maxWeight) {
+			Map.Entry<K, V> entry = eldest.next();
+			totalWeight -= weigher.applyAsLong(entry.getValue());
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * Gets number of cached values.
+	 *
+	 * @return number of values
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets total size of cached values.
+	 *
+	 * @return total size
+	 */
+	public synchronized long weight() {
+		return totalWeight;
+	}
+
+}
@@ -0,0 +1,137 @@
+package isaiah.maze_website.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import isaiah.maze_website.models.AutomataEngine;
+import isaiah.maze_website.models.MazeGrid;
+
+/**
+ * Unit tests for word-wide cellular automata engine, compared against a
+ * position by position version of the same rule.
+ *
+ * @author Isaiah
+ */
+public class AutomataEngineTest {
+
+	/** Seed for random starting values. */
+	private static final long SEED = 42L;
+
+	/** Widths around the 64 position word boundary. */
+	private static final int[] DIMENSIONS = { 5, 63, 64, 65, 128 };
+
+	/** Default rule and a few others, including born and survive on 0 and 9. */
+	private static final String[] RULESTRINGS = { AutomataEngine.DEFAULT_RULESTRING, "B36/S23", "b0/s9", "B/S",
+			"B123456789/S0" };
+
+	/** Generations compared for each grid. */
+	private static final int GENERATIONS = 10;
+
+	@Test
+	public void testMatchesPositionRule() {
+		Random random = new Random(SEED);
+		for (int dimensions : DIMENSIONS) {
+			for (String rulestring : RULESTRINGS) {
+				int[][] expected = new int[dimensions][dimensions];
+				for (int[] row : expected) {
+					for (int j = 0; j < dimensions; j++) {
+						row[j] = random.nextInt(2);
+					}
+				}
+				boolean[][] rule = parseRule(rulestring);
+				AutomataEngine engine = new AutomataEngine(dimensions, rulestring);
+				MazeGrid grid = MazeGrid.fromArray(expected);
+				engine.load(grid);
+				for (int generation = 0; generation < GENERATIONS; generation++) {
+					expected = step(expected, rule);
+					engine.step();
+					engine.store(grid);
+					assertArrayEquals(expected, grid.toArray(), rulestring + " at " + dimensions);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testFingerprint() {
+		int[][] values = new int[DIMENSIONS[2]][DIMENSIONS[2]];
+		values[1][1] = 1;
+		values[1][2] = 1;
+		values[2][1] = 1;
+		values[2][2] = 1;
+		AutomataEngine engine = new AutomataEngine(values.length, "B3/S1234");
+		engine.load(MazeGrid.fromArray(values));
+		long start = engine.getFingerprint();
+		// a 2x2 block is still under this rule, so fingerprint stays the same
+		assertEquals(start, engine.step());
+
+		engine = new AutomataEngine(values.length, "B/S");
+		engine.load(MazeGrid.fromArray(values));
+		assertFalse(start == engine.step());
+	}
+
+	@Test
+	public void testValidRulestring() {
+		for (String rulestring : RULESTRINGS) {
+			assertTrue(AutomataEngine.isValidRulestring(rulestring));
+		}
+		assertFalse(AutomataEngine.isValidRulestring(null));
+		assertFalse(AutomataEngine.isValidRulestring("garbage"));
+		assertFalse(AutomataEngine.isValidRulestring("B3/S1x"));
+	}
+
+	/**
+	 * Helper function that runs one generation position by position. Counts cover
+	 * the 3x3 block including the position itself, positions outside the grid are
+	 * not live.
+	 *
+	 * @param values current generation
+	 * @param rule   born and survive lookup tables
+	 * @return next generation
+	 */
+	private static int[][] step(int[][] values, boolean[][] rule) {
+		int dimensions = values.length;
+		int[][] next = new int[dimensions][dimensions];
+		for (int x = 0; x < dimensions; x++) {
+			for (int y = 0; y < dimensions; y++) {
+				int count = 0;
+				for (int i = Math.max(0, x - 1); i <= Math.min(dimensions - 1, x + 1); i++) {
+					for (int j = Math.max(0, y - 1); j <= Math.min(dimensions - 1, y + 1); j++) {
+						count += values[i][j];
+					}
+				}
+				boolean live = rule[0][count] || (values[x][y] == 1 && rule[1][count]);
+				next[x][y] = live ? 1 : 0;
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * Helper function that parses rulestring into born and survive lookup tables.
+	 *
+	 * @param rulestring rulestring such as B3/S12345
+	 * @return born counts and survive counts as lookup tables
+	 */
+	private static boolean[][] parseRule(String rulestring) {
+		String rule = rulestring.toUpperCase();
+		int survive = rule.indexOf('S');
+		boolean[][] tables = new boolean[2][10];
+		for (char c : rule.substring(1, survive).toCharArray()) {
+			if (Character.isDigit(c)) {
+				tables[0][c - '0'] = true;
+			}
+		}
+		for (char c : rule.substring(survive + 1).toCharArray()) {
+			tables[1][c - '0'] = true;
+		}
+		return tables;
+	}
+
+}
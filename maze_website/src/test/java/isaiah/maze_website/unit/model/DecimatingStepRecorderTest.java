@@ -0,0 +1,66 @@
+package isaiah.maze_website.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.steps.DecimatingStepRecorder;
+import isaiah.maze_website.models.steps.RecordingMode;
+import isaiah.maze_website.models.steps.StepRecorder;
+
+/**
+ * Unit tests for recorder keeping a limited number of frames.
+ *
+ * @author Isaiah
+ */
+public class DecimatingStepRecorderTest {
+
+	/** Seed for generated mazes. */
+	private static final long SEED = 42L;
+
+	/** Frame budget smaller than steps of a default DFS maze. */
+	private static final int MAX_FRAMES = 10;
+
+	@Test
+	public void testFrameBudget() {
+		List<int[][]> allSteps = generate(RecordingMode.SNAPSHOT.createRecorder());
+		DecimatingStepRecorder recorder = new DecimatingStepRecorder(MAX_FRAMES);
+		List<int[][]> frames = generate(recorder);
+
+		assertEquals(allSteps.size(), recorder.size());
+		assertTrue(frames.size() <= MAX_FRAMES);
+		assertTrue(frames.size() > MAX_FRAMES / 2);
+		assertArrayEquals(allSteps.get(0), frames.get(0));
+		assertArrayEquals(allSteps.get(allSteps.size() - 1), frames.get(frames.size() - 1));
+	}
+
+	@Test
+	public void testLargeBudgetKeepsEveryStep() {
+		List<int[][]> allSteps = generate(RecordingMode.SNAPSHOT.createRecorder());
+		List<int[][]> frames = generate(new DecimatingStepRecorder(Integer.MAX_VALUE));
+
+		assertEquals(allSteps.size(), frames.size());
+		for (int i = 0; i < allSteps.size(); i++) {
+			assertArrayEquals(allSteps.get(i), frames.get(i));
+		}
+	}
+
+	/**
+	 * Helper function that generates a seeded DFS maze.
+	 *
+	 * @param recorder recorder for steps
+	 * @return recorded steps
+	 */
+	private static List<int[][]> generate(StepRecorder recorder) {
+		Maze maze = new Maze(Maze.DEFAULT_DIMENSIONS, recorder);
+		maze.setSeed(SEED);
+		maze.dfsGenerationStart();
+		return recorder.getSteps();
+	}
+
+}
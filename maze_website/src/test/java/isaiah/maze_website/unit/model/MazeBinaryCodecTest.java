@@ -0,0 +1,89 @@
+package isaiah.maze_website.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+import isaiah.maze_website.converters.MazeBinaryCodec;
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.steps.RecordingMode;
+
+/**
+ * Unit tests for binary maze format.
+ *
+ * @author Isaiah
+ */
+public class MazeBinaryCodecTest {
+
+	/** Seed for generated mazes. */
+	private static final long SEED = 42L;
+
+	@Test
+	public void testMazeRoundTrip() throws IOException {
+		Maze maze = new Maze(Maze.DEFAULT_DIMENSIONS, RecordingMode.NONE.createRecorder());
+		maze.setSeed(SEED);
+		maze.dfsGenerationStart();
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MazeBinaryCodec.writeMaze(maze.getValues(), output);
+		int[][] read = MazeBinaryCodec.readMaze(new ByteArrayInputStream(output.toByteArray()));
+		assertArrayEquals(maze.getValues(), read);
+	}
+
+	@Test
+	public void testStepsRoundTrip() throws IOException {
+		Maze maze = new Maze(Maze.DEFAULT_DIMENSIONS, RecordingMode.SNAPSHOT.createRecorder());
+		maze.setSeed(SEED);
+		maze.dfsGenerationStart();
+		List<int[][]> steps = maze.getSteps();
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		MazeBinaryCodec.writeSteps(steps, output);
+		List<int[][]> read = MazeBinaryCodec.readSteps(new ByteArrayInputStream(output.toByteArray()));
+		assertEquals(steps.size(), read.size());
+		for (int i = 0; i < steps.size(); i++) {
+			assertArrayEquals(steps.get(i), read.get(i));
+		}
+	}
+
+	@Test
+	public void testTranscodeToJson() throws IOException {
+		Maze maze = new Maze(Maze.DEFAULT_DIMENSIONS, RecordingMode.NONE.createRecorder());
+		maze.setSeed(SEED);
+		maze.dfsGenerationStart();
+
+		ByteArrayOutputStream binary = new ByteArrayOutputStream();
+		MazeBinaryCodec.writeMaze(maze.getValues(), binary);
+		ByteArrayOutputStream json = new ByteArrayOutputStream();
+		MazeBinaryCodec.transcodeMazeToJson(new ByteArrayInputStream(binary.toByteArray()), json);
+		assertEquals(new Gson().toJson(maze.getValues()), json.toString(StandardCharsets.UTF_8));
+
+		ByteArrayOutputStream list = new ByteArrayOutputStream();
+		MazeBinaryCodec.transcodeMazesToJson(List.of(binary.toByteArray(), binary.toByteArray()), list);
+		assertEquals(new Gson().toJson(List.of(maze.getValues(), maze.getValues())),
+				list.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testInvalid() {
+		assertThrows(IllegalArgumentException.class,
+				() -> MazeBinaryCodec.writeMaze(new int[][] { { 0, 16 }, { 0, 0 } }, new ByteArrayOutputStream()));
+		assertThrows(IllegalArgumentException.class,
+				() -> MazeBinaryCodec.readMaze(new ByteArrayInputStream(new byte[] { 2, 0, 5, 5 })));
+		// ten byte varint reads as negative rows
+		byte[] negativeRows = { 1, 0, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1, 2, 1, 16 };
+		assertThrows(IllegalArgumentException.class,
+				() -> MazeBinaryCodec.readMaze(new ByteArrayInputStream(negativeRows)));
+	}
+
+}
@@ -0,0 +1,66 @@
+package isaiah.maze_website.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import isaiah.maze_website.generators.DfsGenerator;
+import isaiah.maze_website.generators.EllerGenerator;
+import isaiah.maze_website.generators.KruskalGenerator;
+import isaiah.maze_website.generators.MazeGenerator;
+import isaiah.maze_website.generators.MazeGeneratorRegistry;
+import isaiah.maze_website.models.AutomataEngine;
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.steps.RecordingMode;
+
+/**
+ * Unit tests for maze generator registry.
+ *
+ * @author Isaiah
+ */
+public class MazeGeneratorRegistryTest {
+
+	/** Registry with a few generators. */
+	private final MazeGeneratorRegistry registry = new MazeGeneratorRegistry(
+			List.of(new DfsGenerator(), new KruskalGenerator(), new EllerGenerator()));
+
+	@Test
+	public void testLookup() {
+		assertTrue(registry.contains("kruskal"));
+		assertEquals("eller", registry.get("eller").getType());
+		assertTrue(registry.get("eller").supportsStreaming());
+		assertFalse(registry.contains("unknown"));
+		assertThrows(IllegalArgumentException.class, () -> registry.get("unknown"));
+		assertThrows(IllegalStateException.class,
+				() -> new MazeGeneratorRegistry(List.of(new DfsGenerator(), new DfsGenerator())));
+	}
+
+	@Test
+	public void testGenerateRecordsStats() {
+		MazeGenerator generator = registry.get("dfs");
+		Maze maze = new Maze(Maze.DEFAULT_DIMENSIONS, Maze.DEFAULT_DIMENSIONS, RecordingMode.NONE.createRecorder());
+		registry.generate(generator, maze, AutomataEngine.DEFAULT_RULESTRING);
+
+		for (Map<String, Object> description : registry.describe()) {
+			long expected = "dfs".equals(description.get("type")) ? 1 : 0;
+			assertEquals(expected, description.get("count"));
+		}
+	}
+
+	@Test
+	public void testDescribeOrder() {
+		List<String> types = new ArrayList<String>();
+		for (Map<String, Object> description : registry.describe()) {
+			types.add((String) description.get("type"));
+		}
+		assertEquals(List.of("dfs", "eller", "kruskal"), types);
+	}
+
+}
@@ -0,0 +1,64 @@
+package isaiah.maze_website.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import isaiah.maze_website.models.MazeGrid;
+
+/**
+ * Unit tests for packed maze grid.
+ * 
+ * @author Isaiah
+ */
+public class MazeGridTest {
+
+	private static final int DIMENSIONS = 7;
+
+	/** Largest value stored by maze. */
+	private static final int TARGET_POSITION = 4;
+
+	@Test
+	public void testSetAndGet() {
+		MazeGrid grid = new MazeGrid(DIMENSIONS);
+		for (int i = 0; i < DIMENSIONS; i++) {
+			for (int j = 0; j < DIMENSIONS; j++) {
+				grid.set(i, j, (i + j) % (TARGET_POSITION + 1));
+			}
+		}
+		for (int i = 0; i < DIMENSIONS; i++) {
+			for (int j = 0; j < DIMENSIONS; j++) {
+				assertEquals((i + j) % (TARGET_POSITION + 1), grid.get(i, j));
+			}
+		}
+	}
+
+	@Test
+	public void testArrayRoundTrip() {
+		int[][] values = new int[DIMENSIONS][DIMENSIONS];
+		values[0][0] = TARGET_POSITION;
+		values[DIMENSIONS - 1][DIMENSIONS - 1] = TARGET_POSITION;
+		values[2][3] = 1;
+		MazeGrid grid = MazeGrid.fromArray(values);
+		assertArrayEquals(values, grid.toArray());
+
+		values[1][1] = 16;
+		assertThrows(IllegalArgumentException.class, () -> MazeGrid.fromArray(values));
+	}
+
+	@Test
+	public void testCopy() {
+		MazeGrid grid = new MazeGrid(DIMENSIONS);
+		grid.fill(1);
+		MazeGrid copy = grid.copy();
+		assertEquals(grid, copy);
+		copy.set(DIMENSIONS - 1, DIMENSIONS - 1, 0);
+		assertNotEquals(grid, copy);
+		copy.copyFrom(grid);
+		assertEquals(grid, copy);
+	}
+
+}
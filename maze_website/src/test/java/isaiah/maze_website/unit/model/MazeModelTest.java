@@ -1,13 +1,21 @@
 package isaiah.maze_website.unit.model;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.SolutionChecker;
+import isaiah.maze_website.models.steps.RecordingMode;
 
 /**
  * Unit tests for maze model. Database must be running and connected for tests
@@ -22,9 +30,27 @@ public class MazeModelTest {
 	private static final int MIN_DIMENSIONS = 5;
 	private static final int MAX_DIMENSIONS = 20;
 
+	/** Value for wall maze position. */
+	private static final int WALL = 1;
+
 	/** Value for selected maze position. */
 	private static final int SELECTED_POSITION = 3;
 
+	/** Value for target maze position. */
+	private static final int TARGET_POSITION = 4;
+
+	/** Seed used for repeatable generation. */
+	private static final long SEED = 42L;
+
+	/** Dimensions large enough for parallel generation. */
+	private static final int LARGE_DIMENSIONS = 500;
+
+	/** Small parallel cutoff so many sections are forked. */
+	private static final int PARALLEL_CUTOFF = 100;
+
+	/** Number of seeds tried for each dimensions in automata tests. */
+	private static final int AUTOMATA_SEEDS = 20;
+
 	@Test
 	public void testConstructor() {
 		// default test
@@ -43,28 +69,186 @@ public class MazeModelTest {
 	public void testGeneration() {
 		Maze maze = new Maze(MAX_DIMENSIONS);
 		maze.dfsGenerationStart();
-		assertFalse(maze.checkSolution(maze.getValues()));
+		int[][] values = maze.getValues();
+		assertFalse(maze.checkSolution(values));
 		// set empty positions to selected
-		for (int i = 0; i < maze.getValues().length; i++) {
-			for (int j = 0; j < maze.getValues().length; j++) {
-				if (maze.getValues()[i][j] == 0) {
-					maze.getValues()[i][j] = SELECTED_POSITION;
+		for (int i = 0; i < values.length; i++) {
+			for (int j = 0; j < values.length; j++) {
+				if (values[i][j] == 0) {
+					values[i][j] = SELECTED_POSITION;
 				}
 			}
 		}
-		assertTrue(maze.checkSolution(maze.getValues()));
+		assertTrue(maze.checkSolution(values));
 
 		maze = new Maze(MIN_DIMENSIONS);
 		maze.recursiveDivisionGenerationStart();
-		assertFalse(maze.checkSolution(maze.getValues()));
-		for (int i = 0; i < maze.getValues().length; i++) {
-			for (int j = 0; j < maze.getValues().length; j++) {
-				if (maze.getValues()[i][j] == 0) {
-					maze.getValues()[i][j] = SELECTED_POSITION;
+		values = maze.getValues();
+		assertFalse(maze.checkSolution(values));
+		for (int i = 0; i < values.length; i++) {
+			for (int j = 0; j < values.length; j++) {
+				if (values[i][j] == 0) {
+					values[i][j] = SELECTED_POSITION;
+				}
+			}
+		}
+		assertTrue(maze.checkSolution(values));
+	}
+
+	@Test
+	public void testCheckSolutionUnchanged() {
+		Maze maze = new Maze(MIN_DIMENSIONS);
+		maze.dfsGenerationStart();
+		int[][] values = maze.getValues();
+		for (int i = 0; i < values.length; i++) {
+			for (int j = 0; j < values.length; j++) {
+				if (values[i][j] == 0) {
+					values[i][j] = SELECTED_POSITION;
+				}
+			}
+		}
+		int[][] expected = new int[values.length][];
+		for (int i = 0; i < values.length; i++) {
+			expected[i] = values[i].clone();
+		}
+		// checking twice gives the same result since attempt is not modified
+		assertTrue(maze.checkSolution(values));
+		assertTrue(maze.checkSolution(values));
+		assertArrayEquals(expected, values);
+	}
+
+	@Test
+	public void testSeededGeneration() {
+		Maze first = new Maze(MAX_DIMENSIONS);
+		first.setSeed(SEED);
+		first.dfsGenerationStart();
+		Maze second = new Maze(MAX_DIMENSIONS);
+		second.setSeed(SEED);
+		second.dfsGenerationStart();
+		assertArrayEquals(first.getValues(), second.getValues());
+		assertEquals(first.getSteps().size(), second.getSteps().size());
+	}
+
+	@Test
+	public void testParallelRecursiveDivision() {
+		Maze sequential = new Maze(LARGE_DIMENSIONS, LARGE_DIMENSIONS, RecordingMode.NONE.createRecorder());
+		sequential.setSeed(SEED);
+		sequential.recursiveDivisionGenerationStart();
+		Maze parallel = new Maze(LARGE_DIMENSIONS, LARGE_DIMENSIONS, RecordingMode.NONE.createRecorder());
+		parallel.setSeed(SEED);
+		parallel.setParallelCutoff(PARALLEL_CUTOFF);
+		parallel.recursiveDivisionGenerationStart();
+		assertArrayEquals(sequential.getValues(), parallel.getValues());
+	}
+
+	@Test
+	public void testSpanningTreeGeneration() {
+		Maze kruskal = new Maze(MAX_DIMENSIONS);
+		kruskal.kruskalGeneration();
+		Maze wilson = new Maze(MAX_DIMENSIONS);
+		wilson.wilsonGeneration();
+		for (Maze maze : new Maze[] { kruskal, wilson }) {
+			int[][] values = maze.getValues();
+			assertFalse(maze.checkSolution(values));
+			for (int i = 0; i < values.length; i++) {
+				for (int j = 0; j < values.length; j++) {
+					if (values[i][j] == 0) {
+						values[i][j] = SELECTED_POSITION;
+					}
+				}
+			}
+			assertTrue(maze.checkSolution(values));
+		}
+	}
+
+	@Test
+	public void testAutomataSameWithoutSteps() {
+		for (int dimensions = MIN_DIMENSIONS; dimensions <= MAX_DIMENSIONS; dimensions++) {
+			for (long seed = 0; seed < AUTOMATA_SEEDS; seed++) {
+				Maze withoutSteps = new Maze(dimensions, MAX_DIMENSIONS, RecordingMode.NONE.createRecorder());
+				withoutSteps.setSeed(seed);
+				withoutSteps.automataGenerationStart();
+				Maze withSteps = new Maze(dimensions, MAX_DIMENSIONS, RecordingMode.DELTA.createRecorder());
+				withSteps.setSeed(seed);
+				withSteps.automataGenerationStart();
+				assertArrayEquals(withSteps.getValues(), withoutSteps.getValues());
+			}
+		}
+	}
+
+	@Test
+	public void testAutomataSolvableWithFewestWalls() {
+		SolutionChecker checker = new SolutionChecker();
+		for (int dimensions = MIN_DIMENSIONS; dimensions <= MAX_DIMENSIONS; dimensions++) {
+			for (long seed = 0; seed < AUTOMATA_SEEDS; seed++) {
+				Maze maze = new Maze(dimensions, MAX_DIMENSIONS, RecordingMode.DELTA.createRecorder());
+				maze.setSeed(seed);
+				maze.automataGenerationStart();
+
+				// first step with targets set is the automata maze before it is made solvable
+				int[][] before = null;
+				for (int[][] step : maze.getSteps()) {
+					if (step[0][0] == TARGET_POSITION) {
+						before = step;
+						break;
+					}
+				}
+				int[][] values = maze.getValues();
+				int cleared = 0;
+				for (int i = 0; i < dimensions; i++) {
+					for (int j = 0; j < dimensions; j++) {
+						if (before[i][j] == WALL) {
+							cleared += values[i][j] == WALL ? 0 : 1;
+						} else {
+							assertNotEquals(WALL, values[i][j]);
+						}
+						if (values[i][j] == 0) {
+							values[i][j] = SELECTED_POSITION;
+						}
+					}
+				}
+				assertEquals(fewestWallsToClear(before), cleared);
+				assertTrue(checker.check(values));
+			}
+		}
+	}
+
+	/**
+	 * Helper function that finds the fewest walls to clear to connect the top left
+	 * and bottom right positions, with a 0-1 BFS.
+	 * 
+	 * @param values maze values
+	 * @return number of walls
+	 */
+	private static int fewestWallsToClear(int[][] values) {
+		int dimensions = values.length;
+		int[] cleared = new int[dimensions * dimensions];
+		Arrays.fill(cleared, Integer.MAX_VALUE);
+		Deque<Integer> queue = new ArrayDeque<Integer>();
+		cleared[0] = 0;
+		queue.add(0);
+		int[][] moves = { { -1, 0 }, { 0, 1 }, { 1, 0 }, { 0, -1 } };
+		while (!queue.isEmpty()) {
+			int index = queue.poll();
+			for (int[] move : moves) {
+				int x = index / dimensions + move[0];
+				int y = index % dimensions + move[1];
+				if (x < 0 || y < 0 || x >= dimensions || y >= dimensions) {
+					continue;
+				}
+				int cost = values[x][y] == WALL ? 1 : 0;
+				int next = x * dimensions + y;
+				if (cleared[index] + cost < cleared[next]) {
+					cleared[next] = cleared[index] + cost;
+					if (cost == 0) {
+						queue.addFirst(next);
+					} else {
+						queue.addLast(next);
+					}
 				}
 			}
 		}
-		assertTrue(maze.checkSolution(maze.getValues()));
+		return cleared[dimensions * dimensions - 1];
 	}
 
 }
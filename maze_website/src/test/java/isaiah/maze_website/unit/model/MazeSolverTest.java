@@ -0,0 +1,141 @@
+package isaiah.maze_website.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import isaiah.maze_website.models.MazeSolver;
+
+/**
+ * Unit tests for maze solver.
+ *
+ * @author Isaiah
+ */
+public class MazeSolverTest {
+
+	/** Maze with a single winding path (1 is wall). */
+	private static final int[][] MAZE = {
+			{ 0, 0, 0, 0, 0 },
+			{ 1, 1, 1, 1, 0 },
+			{ 0, 0, 0, 0, 0 },
+			{ 0, 1, 1, 1, 1 },
+			{ 0, 0, 0, 0, 0 } };
+
+	/** Moves through MAZE from top left to bottom right. */
+	private static final String PATH = "SSSSEENNNNEESSSS";
+
+	/** Maze with a short and a long way around a loop. */
+	private static final int[][] LOOP = {
+			{ 0, 0, 0, 0, 0 },
+			{ 0, 1, 1, 1, 0 },
+			{ 0, 1, 0, 0, 0 },
+			{ 0, 1, 0, 1, 1 },
+			{ 0, 0, 0, 0, 0 } };
+
+	/** Seed for random mazes with many paths. */
+	private static final long SEED = 42L;
+
+	/** Dimensions of random mazes. */
+	private static final int RANDOM_DIMENSIONS = 30;
+
+	/** Number of random mazes tried. */
+	private static final int RANDOM_MAZES = 20;
+
+	/** Chance of each position being a wall in random mazes. */
+	private static final double WALL_CHANCE = 0.3;
+
+	@Test
+	public void testSolve() {
+		MazeSolver solver = new MazeSolver();
+		for (MazeSolver.Algorithm algorithm : MazeSolver.Algorithm.values()) {
+			assertEquals(PATH, solver.solve(MAZE, algorithm));
+		}
+	}
+
+	@Test
+	public void testNoPath() {
+		int[][] blocked = new int[MAZE.length][];
+		for (int i = 0; i < MAZE.length; i++) {
+			blocked[i] = MAZE[i].clone();
+		}
+		blocked[2][2] = 1;
+		MazeSolver solver = new MazeSolver();
+		for (MazeSolver.Algorithm algorithm : MazeSolver.Algorithm.values()) {
+			assertNull(solver.solve(blocked, algorithm));
+		}
+	}
+
+	@Test
+	public void testShortestPath() {
+		MazeSolver solver = new MazeSolver();
+		int[][] open = new int[RANDOM_DIMENSIONS][RANDOM_DIMENSIONS];
+		for (MazeSolver.Algorithm algorithm : MazeSolver.Algorithm.values()) {
+			// way down left side is shorter than way around the loop
+			assertEquals(8, walk(LOOP, solver.solve(LOOP, algorithm)));
+			assertEquals(2 * (RANDOM_DIMENSIONS - 1), walk(open, solver.solve(open, algorithm)));
+		}
+
+		Random random = new Random(SEED);
+		for (int n = 0; n < RANDOM_MAZES; n++) {
+			int[][] maze = new int[RANDOM_DIMENSIONS][RANDOM_DIMENSIONS];
+			for (int[] row : maze) {
+				for (int j = 0; j < row.length; j++) {
+					row[j] = random.nextDouble() < WALL_CHANCE ? 1 : 0;
+				}
+			}
+			maze[0][0] = 0;
+			maze[RANDOM_DIMENSIONS - 1][RANDOM_DIMENSIONS - 1] = 0;
+			String shortest = solver.solve(maze, MazeSolver.Algorithm.BFS);
+			for (MazeSolver.Algorithm algorithm : MazeSolver.Algorithm.values()) {
+				String path = solver.solve(maze, algorithm);
+				if (shortest == null) {
+					assertNull(path);
+				} else {
+					assertEquals(shortest.length(), walk(maze, path));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Helper function that follows path through maze, checking it only uses open
+	 * positions and ends at the bottom right.
+	 *
+	 * @param maze maze to walk through
+	 * @param path moves using N, E, S, and W
+	 * @return number of moves
+	 */
+	private static int walk(int[][] maze, String path) {
+		assertNotNull(path);
+		int x = 0;
+		int y = 0;
+		for (char move : path.toCharArray()) {
+			switch (move) {
+			case 'N':
+				y--;
+				break;
+			case 'E':
+				x++;
+				break;
+			case 'S':
+				y++;
+				break;
+			case 'W':
+				x--;
+				break;
+			default:
+				fail("Unknown move " + move);
+			}
+			assertEquals(0, maze[x][y]);
+		}
+		assertEquals(maze.length - 1, x);
+		assertEquals(maze.length - 1, y);
+		return path.length();
+	}
+
+}
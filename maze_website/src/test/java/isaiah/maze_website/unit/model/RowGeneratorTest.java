@@ -0,0 +1,67 @@
+package isaiah.maze_website.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import isaiah.maze_website.models.MazeSolver;
+import isaiah.maze_website.models.rows.BinaryTreeRowGenerator;
+import isaiah.maze_website.models.rows.EllerRowGenerator;
+import isaiah.maze_website.models.rows.RowGenerator;
+import isaiah.maze_website.models.rows.SidewinderRowGenerator;
+
+/**
+ * Unit tests for row generators.
+ * 
+ * @author Isaiah
+ */
+public class RowGeneratorTest {
+
+	private static final int WIDTH = 21;
+	private static final int HEIGHT = 40;
+
+	/** Seed used for repeatable generation. */
+	private static final long SEED = 42L;
+
+	@Test
+	public void testEller() {
+		int[][] maze = generate(new EllerRowGenerator(new SplittableRandom(SEED)), WIDTH, HEIGHT);
+		assertEquals(HEIGHT, maze.length);
+		assertArrayEquals(maze, generate(new EllerRowGenerator(new SplittableRandom(SEED)), WIDTH, HEIGHT));
+		// square mazes can be solved like any other maze
+		int[][] square = generate(new EllerRowGenerator(new SplittableRandom(SEED)), WIDTH, WIDTH);
+		assertNotNull(new MazeSolver().solve(square, MazeSolver.Algorithm.BFS));
+	}
+
+	@Test
+	public void testBinaryTreeAndSidewinder() {
+		RowGenerator[] generators = { new BinaryTreeRowGenerator(new SplittableRandom(SEED)),
+				new SidewinderRowGenerator(new SplittableRandom(SEED)) };
+		for (RowGenerator generator : generators) {
+			int[][] square = generate(generator, WIDTH, WIDTH);
+			assertEquals(WIDTH, square.length);
+			assertNotNull(new MazeSolver().solve(square, MazeSolver.Algorithm.BFS));
+		}
+	}
+
+	/**
+	 * Helper method that collects generated rows.
+	 * 
+	 * @param generator generator to run
+	 * @param width     number of positions in each row
+	 * @param height    number of rows
+	 * @return 2d array of rows
+	 */
+	private static int[][] generate(RowGenerator generator, int width, int height) {
+		List<int[]> rows = new ArrayList<int[]>();
+		generator.generate(width, height, row -> rows.add(row.clone()));
+		return rows.toArray(new int[0][]);
+	}
+
+}
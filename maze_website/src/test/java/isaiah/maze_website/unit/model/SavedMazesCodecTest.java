@@ -0,0 +1,85 @@
+package isaiah.maze_website.unit.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+import isaiah.maze_website.converters.ConverterListIntArr2D;
+import isaiah.maze_website.converters.SavedMazesCodec;
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.steps.RecordingMode;
+
+/**
+ * Unit tests for compact saved mazes format.
+ *
+ * @author Isaiah
+ */
+public class SavedMazesCodecTest {
+
+	/** Seed for generated mazes. */
+	private static final long SEED = 42L;
+
+	@Test
+	public void testRoundTrip() {
+		List<int[][]> mazes = generate();
+		String encoded = SavedMazesCodec.encode(mazes);
+		assertFalse(SavedMazesCodec.isLegacyJson(encoded));
+		assertTrue(encoded.length() < new Gson().toJson(mazes).length());
+		assertMazesEqual(mazes, SavedMazesCodec.decode(encoded));
+		assertEquals(0, SavedMazesCodec.decode(SavedMazesCodec.encode(new ArrayList<int[][]>())).size());
+	}
+
+	@Test
+	public void testReadsLegacyJson() {
+		List<int[][]> mazes = generate();
+		ConverterListIntArr2D converter = new ConverterListIntArr2D();
+		assertMazesEqual(mazes, converter.convertToEntityAttribute(new Gson().toJson(mazes)));
+		assertMazesEqual(mazes, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(mazes)));
+	}
+
+	@Test
+	public void testInvalid() {
+		List<int[][]> tooLarge = List.of(new int[][] { { 0, 16 } });
+		assertThrows(IllegalArgumentException.class, () -> SavedMazesCodec.encode(tooLarge));
+		assertThrows(IllegalArgumentException.class, () -> SavedMazesCodec.decode("AAAA"));
+	}
+
+	/**
+	 * Helper function that generates a few seeded mazes.
+	 *
+	 * @return list of mazes
+	 */
+	private static List<int[][]> generate() {
+		List<int[][]> mazes = new ArrayList<int[][]>();
+		for (int i = 0; i < 3; i++) {
+			Maze maze = new Maze(Maze.DEFAULT_DIMENSIONS + 2 * i, RecordingMode.NONE.createRecorder());
+			maze.setSeed(SEED + i);
+			maze.dfsGenerationStart();
+			mazes.add(maze.getValues());
+		}
+		return mazes;
+	}
+
+	/**
+	 * Helper function that checks lists of mazes are equal.
+	 *
+	 * @param expected expected mazes
+	 * @param actual   actual mazes
+	 */
+	private static void assertMazesEqual(List<int[][]> expected, List<int[][]> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertArrayEquals(expected.get(i), actual.get(i));
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+package isaiah.maze_website.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks with the GC profiler always on, so every run reports
+ * allocation rate next to time. Accepts the usual JMH command line options, for
+ * example a benchmark name pattern or -p dimensions=1001.
+ * 
+ * @author Isaiah
+ *
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		Options options = new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+
+}
@@ -0,0 +1,79 @@
+package isaiah.maze_website.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.steps.RecordingMode;
+
+/**
+ * Benchmarks checking a solution. Every open position of a DFS maze is
+ * selected, so the check has to search most of the maze before reaching the
+ * end.
+ * 
+ * @author Isaiah
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheckSolutionBenchmark {
+
+	/**
+	 * Value for open position.
+	 */
+	private static final int EMPTY = 0;
+
+	/**
+	 * Value for selected position.
+	 */
+	private static final int SELECTED_POSITION = 3;
+
+	@Param({ "21", "101", "501" })
+	private int dimensions;
+
+	@Param({ "1", "42" })
+	private long seed;
+
+	private Maze maze;
+
+	private int[][] attempt;
+
+	@Setup
+	public void setUp() {
+		maze = new Maze(dimensions, Maze.LIMIT_DIMENSIONS, RecordingMode.NONE.createRecorder());
+		maze.setSeed(seed);
+		maze.dfsGenerationStart();
+		attempt = maze.getValues();
+		for (int[] row : attempt) {
+			for (int i = 0; i < row.length; i++) {
+				if (row[i] == EMPTY) {
+					row[i] = SELECTED_POSITION;
+				}
+			}
+		}
+		if (!maze.checkSolution(attempt)) {
+			throw new IllegalStateException("Attempt should be correct.");
+		}
+	}
+
+	@Benchmark
+	public boolean checkSolution() {
+		return maze.checkSolution(attempt);
+	}
+
+}
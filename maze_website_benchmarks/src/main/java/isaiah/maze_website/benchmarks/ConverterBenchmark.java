@@ -0,0 +1,80 @@
+package isaiah.maze_website.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import isaiah.maze_website.converters.ConverterListIntArr2D;
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.steps.RecordingMode;
+
+/**
+ * Benchmarks converting users' saved mazes to and from their database column,
+ * without a database.
+ * 
+ * @author Isaiah
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+	@Param({ "21", "101" })
+	private int dimensions;
+
+	@Param({ "1", "10" })
+	private int mazeCount;
+
+	@Param({ "42" })
+	private long seed;
+
+	private final ConverterListIntArr2D converter = new ConverterListIntArr2D();
+
+	private List<int[][]> mazes;
+
+	private String column;
+
+	@Setup
+	public void setUp() {
+		mazes = new ArrayList<int[][]>();
+		for (int i = 0; i < mazeCount; i++) {
+			Maze maze = new Maze(dimensions, Maze.LIMIT_DIMENSIONS, RecordingMode.NONE.createRecorder());
+			maze.setSeed(seed + i);
+			maze.dfsGenerationStart();
+			mazes.add(maze.getValues());
+		}
+		column = converter.convertToDatabaseColumn(mazes);
+	}
+
+	@Benchmark
+	public String toDatabaseColumn() {
+		return converter.convertToDatabaseColumn(mazes);
+	}
+
+	@Benchmark
+	public List<int[][]> toEntityAttribute() {
+		return converter.convertToEntityAttribute(column);
+	}
+
+	@Benchmark
+	public List<int[][]> roundTrip() {
+		return converter.convertToEntityAttribute(converter.convertToDatabaseColumn(mazes));
+	}
+
+}
@@ -0,0 +1,83 @@
+package isaiah.maze_website.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import isaiah.maze_website.models.Maze;
+import isaiah.maze_website.models.MazeGrid;
+import isaiah.maze_website.models.steps.RecordingMode;
+
+/**
+ * Benchmarks each type of maze generation. Creating the maze is included, since
+ * every request creates one. Steps are not recorded unless the recording
+ * parameter is changed, for example with -p recording=NONE,DELTA.
+ * 
+ * @author Isaiah
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+	@Param({ "dfs", "recursive division", "ca", "binary tree", "sidewinder", "eller", "kruskal", "wilson" })
+	private String generationType;
+
+	@Param({ "21", "101", "501" })
+	private int dimensions;
+
+	@Param({ "1", "42" })
+	private long seed;
+
+	@Param({ "NONE" })
+	private RecordingMode recording;
+
+	@Benchmark
+	public MazeGrid generate() {
+		Maze maze = new Maze(dimensions, Maze.LIMIT_DIMENSIONS, recording.createRecorder());
+		maze.setSeed(seed);
+		switch (generationType) {
+		case "dfs":
+			maze.dfsGenerationStart();
+			break;
+		case "recursive division":
+			maze.recursiveDivisionGenerationStart();
+			break;
+		case "ca":
+			maze.automataGenerationStart();
+			break;
+		case "binary tree":
+			maze.binaryTreeGeneration();
+			break;
+		case "sidewinder":
+			maze.sidewinderGeneration();
+			break;
+		case "eller":
+			maze.ellerGeneration();
+			break;
+		case "kruskal":
+			maze.kruskalGeneration();
+			break;
+		case "wilson":
+			maze.wilsonGeneration();
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown generation type: " + generationType);
+		}
+		return maze.getGrid();
+	}
+
+}